@@ -0,0 +1,43 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.security.InMemoryTokenRevocationStore;
+import com.example.taskmanager.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Signing the JWT handed out by login, without the BCrypt check in front of it (PasswordHasher has its own cost knob)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    private InMemoryTokenRevocationStore revocationStore;
+    private AuthService authService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        revocationStore = new InMemoryTokenRevocationStore(10_000, Duration.ofMinutes(1), Clock.systemUTC());
+        authService = new AuthService(null, revocationStore, null, null); // generateToken Touches None Of Them
+        user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark-user");
+    }
+
+    @TearDown
+    public void tearDown() {
+        revocationStore.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return authService.generateToken(user);
+    }
+}
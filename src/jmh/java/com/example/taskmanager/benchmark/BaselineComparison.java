@@ -0,0 +1,78 @@
+package com.example.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Lines a JMH JSON result file (-rf json) up against the checked-in baseline and exits non-zero when a benchmark got
+// slower by more than the threshold and by more than both runs' error margins together. Only AverageTime/SampleTime
+// results are compared, where a higher score is worse:
+// -Djmh.main=com.example.taskmanager.benchmark.BaselineComparison -Djmh.args="target/jmh-result.json [baseline] [threshold %]"
+public class BaselineComparison {
+
+    static final String DEFAULT_BASELINE = "src/jmh/results/baseline.json";
+    static final double DEFAULT_THRESHOLD_PERCENT = 20; // Single-Fork Runs On Shared Machines Move By ~10% On Their Own
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BaselineComparison <result.json> [baseline.json] [threshold %]");
+            System.exit(2);
+        }
+        Map<String, Score> current = read(Path.of(args[0]));
+        Map<String, Score> baseline = read(Path.of(args.length > 1 ? args[1] : DEFAULT_BASELINE));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW         %s  %.3f %s%n", entry.getKey(), now.score(), now.unit());
+                continue;
+            }
+            if (!before.unit().equals(now.unit())) {
+                System.out.printf("UNIT CHANGE %s  %s -> %s%n", entry.getKey(), before.unit(), now.unit());
+                continue;
+            }
+            double changePercent = (now.score() - before.score()) / before.score() * 100;
+            boolean regressed = changePercent > threshold && now.score() - before.score() > now.error() + before.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-11s %s  %.3f -> %.3f %s (%+.1f%%)%n",
+                regressed ? "REGRESSION" : "ok", entry.getKey(), before.score(), now.score(), now.unit(), changePercent);
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.0f%%%n", regressions, current.size(), threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark method plus its @Param values, e.g. "TaskServiceBenchmark.firstPage rows=100000"
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String mode = result.path("mode").asText();
+            if (!"avgt".equals(mode) && !"sample".equals(mode)) {
+                continue;
+            }
+            String benchmark = result.path("benchmark").asText();
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            result.path("params").fields().forEachRemaining(param ->
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(
+                metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    record Score(double score, double error, String unit) {
+    }
+}
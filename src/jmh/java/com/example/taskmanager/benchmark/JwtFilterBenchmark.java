@@ -0,0 +1,121 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.security.InMemoryTokenRevocationStore;
+import com.example.taskmanager.security.JwtFilter;
+import com.example.taskmanager.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Cost of authenticating one request with the same token a client sends on every call of its session
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET_KEY = "X7kP9mL2qW4vZ8jR5tY6uI3oP1nM8xQ2wE4rT9yU0sA6hJ3v";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private String token;
+    private InMemoryTokenRevocationStore revocationStore;
+    private LegacyJwtFilter legacyFilter;
+    private JwtFilter uncachedFilter;
+    private JwtFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        token = Jwts.builder()
+            .setId(UUID.randomUUID().toString())
+            .setSubject("benchmark-user")
+            .claim(JwtFilter.USER_ID_CLAIM, 42L)
+            .setIssuedAt(new Date())
+            .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+            .signWith(key)
+            .compact();
+
+        revocationStore = new InMemoryTokenRevocationStore(10_000, Duration.ofMinutes(1), Clock.systemUTC());
+        legacyFilter = new LegacyJwtFilter(key);
+        // A zero TTL means every lookup misses, so this measures the shared parser on its own
+        uncachedFilter = new JwtFilter(SECRET_KEY, revocationStore, new VerifiedTokenCache(10_000, Duration.ZERO), new SimpleMeterRegistry(), Set.of());
+        cachedFilter = new JwtFilter(SECRET_KEY, revocationStore, new VerifiedTokenCache(10_000, Duration.ofMinutes(5)), new SimpleMeterRegistry(), Set.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        revocationStore.close();
+    }
+
+    @Benchmark
+    public int parserRebuiltPerRequest() throws Exception {
+        return filter(legacyFilter);
+    }
+
+    @Benchmark
+    public int sharedParserNoCache() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public int sharedParserWithVerifiedTokenCache() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    private int filter(OncePerRequestFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    // JwtFilter as it was before the shared parser and verified-token cache, kept as the baseline
+    static class LegacyJwtFilter extends OncePerRequestFilter {
+        private final Key key;
+
+        LegacyJwtFilter(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        protected void doFilterInternal(
+                @NonNull HttpServletRequest request,
+                @NonNull HttpServletResponse response,
+                @NonNull FilterChain filterChain) throws ServletException, IOException {
+            String token = request.getHeader("Authorization").substring(7);
+            String username = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null, null));
+            filterChain.doFilter(request, response);
+        }
+    }
+}
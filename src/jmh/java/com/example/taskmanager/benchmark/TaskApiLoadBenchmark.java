@@ -0,0 +1,109 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput and latency percentiles of /api/tasks with 64 concurrent clients, platform vs virtual request threads.
+// Virtual mode needs a Java 21 fork: -Djmh.args="TaskApiLoadBenchmark -jvm <jdk21>/bin/java"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class TaskApiLoadBenchmark {
+
+    private static final int TASK_COUNT = 500;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private long firstTaskId;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual mode needs a Java 21+ fork, running on " + Runtime.version());
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskmanagerApplication.class)
+            .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN");
+        if (virtual) {
+            builder.profiles("virtual");
+        }
+        context = builder.run("--taskmanager.rate-limit.enabled=false"); // Measures The Server, Not The Per-User Budget
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String credentials = "{\"username\": \"bench\", \"password\": \"bench-password\"}";
+        send(post("/api/auth/register", credentials));
+        authorization = "Bearer " + send(post("/api/auth/login", credentials));
+
+        StringJoiner tasks = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add("{\"title\": \"Task " + i + "\", \"description\": \"Benchmark task " + i + "\"}");
+        }
+        String created = send(post("/api/tasks/batch", tasks.toString()));
+        firstTaskId = Long.parseLong(created.replaceFirst("(?s)^\\[\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String listTasks() throws IOException, InterruptedException {
+        return send(get("/api/tasks?size=50"));
+    }
+
+    @Benchmark
+    public String getTask() throws IOException, InterruptedException {
+        long id = firstTaskId + ThreadLocalRandom.current().nextInt(TASK_COUNT);
+        return send(get("/api/tasks/" + id));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", authorization)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return request.build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+// One 200-task page of /api/tasks read as full entities vs as TaskSummary rows (fields=...), with the page cache off
+// so every call hits the database. Run with -prof gc for bytes allocated per page:
+// -Djmh.args="TaskListProjectionBenchmark -prof gc"; the response size of each shape is printed during setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskListProjectionBenchmark {
+
+    private static final int TASK_COUNT = 1000;
+    private static final int PAGE_SIZE = 200;
+    private static final String DESCRIPTION = "Notes ".repeat(42); // Fills The VARCHAR(255) Column
+
+    @Param({"full", "id,title,completed", "id"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private String listPath;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        // Command-line args, not builder defaults: these have to win over application.properties
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+            .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--taskmanager.task-cache.ttl=0s", // Expired On Read, So Every Page Is A Miss
+                "--taskmanager.rate-limit.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String credentials = "{\"username\": \"bench\", \"password\": \"bench-password\"}";
+        send(post("/api/auth/register", credentials));
+        authorization = "Bearer " + send(post("/api/auth/login", credentials));
+
+        for (int batch = 0; batch < TASK_COUNT / 500; batch++) {
+            StringJoiner tasks = new StringJoiner(",", "[", "]");
+            for (int i = 0; i < 500; i++) {
+                tasks.add("{\"title\": \"Task " + (batch * 500 + i) + "\", \"description\": \"" + DESCRIPTION + "\"}");
+            }
+            send(post("/api/tasks/batch", tasks.toString()));
+        }
+
+        listPath = "/api/tasks?size=" + PAGE_SIZE + ("full".equals(fields) ? "" : "&fields=" + fields);
+        System.out.println(listPath + " -> " + listTasks().length() + " bytes"); // All ASCII, So Chars == Bytes
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String listTasks() throws IOException, InterruptedException {
+        return send(get(listPath));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", authorization)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return request.build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
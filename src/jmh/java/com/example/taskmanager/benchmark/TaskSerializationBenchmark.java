@@ -0,0 +1,63 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskSummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson writing a GET /api/tasks body, with the same ObjectMapper setup Spring MVC uses
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"50", "200"})
+    public int size;
+
+    private ObjectWriter taskWriter;
+    private ObjectWriter summaryWriter;
+    private List<Task> tasks;
+    private List<TaskSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        taskWriter = objectMapper.writerFor(new TypeReference<List<Task>>() { });
+        summaryWriter = objectMapper.writerFor(new TypeReference<List<TaskSummary>>() { });
+
+        tasks = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Benchmark task " + i + " with a description about as long as a real one");
+            task.setCompleted(i % 3 == 0);
+            task.setCompletedAt(task.isCompleted() ? Instant.now() : null);
+            task.setUserId(42L);
+            task.setVersion(0L);
+            tasks.add(task);
+            summaries.add(new TaskSummary(task.getId(), task.getTitle(), task.isCompleted()));
+        }
+    }
+
+    @Benchmark
+    public byte[] tasks() throws Exception {
+        return taskWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] summaries() throws Exception {
+        return summaryWriter.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.TaskSlice;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// TaskServiceImpl.getAllTasks straight against H2 with one user owning every row, page cache off. Keyset pages
+// should cost the same at any table size and any depth; a plan that falls back to a scan or a sort shows up here
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long userId;
+    private String middleCursor;
+
+    @Setup
+    public void setUp() {
+        // Command-line args, not builder defaults: these have to win over application.properties
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+            .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--taskmanager.task-cache.ttl=0s"); // Expired On Read, So Every Page Is A Miss
+        taskService = context.getBean(TaskService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO app_user (username, password) VALUES ('bench', 'unused')");
+        userId = jdbc.queryForObject("SELECT id FROM app_user WHERE username = 'bench'", Long.class);
+        jdbc.update("INSERT INTO task (id, title, description, completed, completed_at, user_id, version) "
+            + "SELECT X, 'Task ' || X, 'Benchmark task ' || X, MOD(X, 3) = 0, "
+            + "CASE WHEN MOD(X, 3) = 0 THEN CURRENT_TIMESTAMP END, ?, 0 FROM SYSTEM_RANGE(1, ?)", userId, rows);
+        jdbc.execute("ANALYZE");
+
+        // TaskCursor's id format, for a page halfway through the user's tasks
+        middleCursor = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(("id:" + rows / 2).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskSlice firstPage() {
+        return taskService.getAllTasks(null, "id", null, null, userId);
+    }
+
+    @Benchmark
+    public TaskSlice middlePage() {
+        return taskService.getAllTasks(null, "id", middleCursor, null, userId);
+    }
+
+    @Benchmark
+    public TaskSlice completedFirstPage() {
+        return taskService.getAllTasks(true, "id", null, null, userId);
+    }
+
+    @Benchmark
+    public TaskSlice titleSortedFirstPage() {
+        return taskService.getAllTasks(null, "title", null, null, userId);
+    }
+}
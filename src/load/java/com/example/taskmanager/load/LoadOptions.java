@@ -0,0 +1,90 @@
+package com.example.taskmanager.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Command-line options of LoadTest, all --name=value. Anything it doesn't recognise is handed to the Spring
+// application it boots, so --spring.profiles.active=virtual or --taskmanager.task-cache.ttl=0s work as usual
+public record LoadOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        boolean poisson,
+        Map<LoadTest.Operation, Integer> mix,
+        int users,
+        int tasksPerUser,
+        int maxInFlight,
+        String url,
+        Path histograms,
+        List<String> applicationArgs) {
+
+    static final String DEFAULT_MIX = "login:2,list:30,get:35,create:13,patch:15,delete:5";
+
+    public static LoadOptions parse(String[] args) {
+        double rate = 200;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        boolean poisson = true;
+        Map<LoadTest.Operation, Integer> mix = parseMix(DEFAULT_MIX);
+        int users = 20;
+        int tasksPerUser = 500;
+        int maxInFlight = 1000;
+        String url = null;
+        Path histograms = null;
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+            switch (name) {
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "--arrivals" -> poisson = switch (value) {
+                    case "poisson" -> true;
+                    case "uniform" -> false;
+                    default -> throw new IllegalArgumentException("--arrivals must be poisson or uniform, got " + value);
+                };
+                case "--mix" -> mix = parseMix(value);
+                case "--users" -> users = Integer.parseInt(value);
+                case "--tasks-per-user" -> tasksPerUser = Integer.parseInt(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--url" -> url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--histograms" -> histograms = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (rate <= 0 || users < 1 || tasksPerUser < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("--rate, --users, --tasks-per-user and --max-in-flight must be positive");
+        }
+        return new LoadOptions(rate, duration, warmup, poisson, mix, users, tasksPerUser, maxInFlight, url, histograms,
+            List.copyOf(applicationArgs));
+    }
+
+    // "list:30,get:35" -> relative weights; operations left out are never sent
+    static Map<LoadTest.Operation, Integer> parseMix(String mix) {
+        Map<LoadTest.Operation, Integer> weights = new EnumMap<>(LoadTest.Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like list:30, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights can't be negative, got " + entry);
+            }
+            weights.put(LoadTest.Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.taskmanager.load;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop HTTP load test: boots the app on an ephemeral port (or targets --url), seeds users and tasks through the
+// API, then sends a weighted mix of requests at a fixed arrival rate no matter how fast responses come back. Latency
+// is measured from when a request was due, not from when it went out, so a stalled server shows up in the
+// percentiles instead of quietly slowing the senders down (coordinated omission).
+// ./mvnw -Pload -DskipTests test-compile exec:exec -Dload.args="--rate=300 --duration=60s"
+public class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    public enum Operation { LOGIN, LIST, GET, CREATE, PATCH, DELETE }
+
+    private final LoadOptions options;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Session> sessions = new ArrayList<>();
+    private String baseUrl;
+    private volatile long measureFrom;
+
+    LoadTest(LoadOptions options) {
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String url = options.url();
+        if (url == null) {
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--taskmanager.rate-limit.enabled=false"));
+            applicationArgs.addAll(options.applicationArgs()); // Later Args Win, So These Can Override The Above
+            context = new SpringApplicationBuilder(TaskmanagerApplication.class).run(applicationArgs.toArray(String[]::new));
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LoadTest loadTest = new LoadTest(options);
+            loadTest.seed(url);
+            loadTest.run();
+            loadTest.report(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void seed(String url) throws IOException, InterruptedException {
+        baseUrl = url;
+        String runId = Long.toString(System.currentTimeMillis(), 36); // Fresh Usernames When Reusing A Server
+        long started = System.nanoTime();
+        for (int user = 0; user < options.users(); user++) {
+            String credentials = "{\"username\": \"load-" + runId + "-" + user + "\", \"password\": \"load-password\"}";
+            send(post("/api/auth/register", credentials, null));
+            Session session = new Session(credentials, "Bearer " + send(post("/api/auth/login", credentials, null)));
+            for (int from = 0; from < options.tasksPerUser(); from += SEED_BATCH_SIZE) {
+                StringJoiner tasks = new StringJoiner(",", "[", "]");
+                for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, options.tasksPerUser()); i++) {
+                    tasks.add("{\"title\": \"Task " + i + "\", \"description\": \"Seeded for load test task " + i + "\"}");
+                }
+                for (JsonNode result : objectMapper.readTree(send(post("/api/tasks/batch", tasks.toString(), session.authorization)))) {
+                    session.seededIds.add(result.path("id").asLong());
+                }
+            }
+            sessions.add(session);
+        }
+        System.out.printf("Seeded %d users x %d tasks at %s in %d ms%n", options.users(), options.tasksPerUser(), baseUrl,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // One thread paces the arrivals and hands each request to the client asynchronously, so a slow response never
+    // delays the next send
+    void run() throws InterruptedException {
+        Operation[] operations = options.mix().keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += options.mix().get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Random random = new Random();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        System.out.printf("Sending %.0f req/s (%s arrivals) for %d s after a %d s warmup%n", options.rate(),
+            options.poisson() ? "poisson" : "uniform", options.duration().toSeconds(), options.warmup().toSeconds());
+
+        double offsetNanos = 0;
+        while (true) {
+            offsetNanos += options.poisson() ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+            long due = start + (long) offsetNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            dispatch(operations[index], sessions.get(random.nextInt(sessions.size())), random, due);
+        }
+
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void dispatch(Operation operation, Session session, Random random, long due) {
+        Stats operationStats = stats.get(operation);
+        if (inFlight.get() >= options.maxInFlight()) {
+            if (due >= measureFrom) {
+                operationStats.dropped.increment(); // Server Too Far Behind; Counted Rather Than Queued Without Bound
+            }
+            return;
+        }
+        HttpRequest request = switch (operation) {
+            case LOGIN -> post("/api/auth/login", session.credentials, null);
+            case LIST -> get("/api/tasks?size=50", session.authorization);
+            case GET -> get("/api/tasks/" + session.anySeededId(random), session.authorization);
+            case CREATE -> post("/api/tasks", "{\"title\": \"Load task\", \"description\": \"Created during the load test\"}",
+                session.authorization);
+            case PATCH -> request("/api/tasks/" + session.anySeededId(random) + "/status", session.authorization)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"completed\": " + random.nextBoolean() + "}"))
+                .build();
+            case DELETE -> {
+                Long id = session.createdIds.poll(); // Only Tasks Made During The Run, So GET And PATCH Never 404
+                yield id == null ? null : request("/api/tasks/" + id, session.authorization).DELETE().build();
+            }
+        };
+        if (request == null) {
+            if (due >= measureFrom) {
+                operationStats.skipped.increment();
+            }
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            boolean succeeded = error == null && response.statusCode() / 100 == 2;
+            if (succeeded && operation == Operation.CREATE) {
+                session.createdIds.add(idOf(response.body()));
+            }
+            if (due < measureFrom) {
+                return;
+            }
+            operationStats.latency.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            if (!succeeded) {
+                String outcome = error != null ? error.getClass().getSimpleName() : Integer.toString(response.statusCode());
+                operationStats.errors.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            }
+        });
+    }
+
+    void report(PrintStream out) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        out.printf("%n%-8s %9s %8s %9s %10s %10s %10s %10s  %s%n",
+            "", "requests", "req/s", "not sent", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Histogram latency = operationStats.latency.copy();
+            if (latency.getTotalCount() == 0 && operationStats.dropped.sum() + operationStats.skipped.sum() == 0) {
+                continue;
+            }
+            all.add(latency);
+            printRow(out, entry.getKey().name().toLowerCase(), latency, seconds,
+                operationStats.dropped.sum() + operationStats.skipped.sum(), new TreeMap<>(operationStats.errors).toString());
+            writeHistogram(entry.getKey().name().toLowerCase(), latency);
+        }
+        long notSent = stats.values().stream()
+            .mapToLong(operationStats -> operationStats.dropped.sum() + operationStats.skipped.sum())
+            .sum();
+        printRow(out, "all", all, seconds, notSent, "");
+        writeHistogram("all", all);
+        out.printf("Target %.0f req/s, achieved %.1f req/s%n", options.rate(), all.getTotalCount() / seconds);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram latency, double seconds, long notSent, String errors) {
+        out.printf("%-8s %9d %8.1f %9d %10.2f %10.2f %10.2f %10.2f  %s%n", name, latency.getTotalCount(),
+            latency.getTotalCount() / seconds, notSent, millis(latency, 50), millis(latency, 99), millis(latency, 99.9),
+            latency.getMaxValue() / 1000.0, "{}".equals(errors) ? "" : errors);
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // Full percentile distributions in milliseconds, plottable with HdrHistogram's HistogramLogAnalyzer or plotFiles.html
+    private void writeHistogram(String name, Histogram latency) throws IOException {
+        if (options.histograms() == null) {
+            return;
+        }
+        Files.createDirectories(options.histograms());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.histograms().resolve(name + ".hgrm")))) {
+            latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private long idOf(String taskJson) {
+        try {
+            return objectMapper.readTree(taskJson).path("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable task in create response: " + taskJson, e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private HttpRequest get(String path, String authorization) {
+        return request(path, authorization).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String authorization) {
+        return request(path, authorization)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static class Session {
+        private final String credentials;
+        private final String authorization;
+        private final List<Long> seededIds = new ArrayList<>();
+        private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+        Session(String credentials, String authorization) {
+            this.credentials = credentials;
+            this.authorization = authorization;
+        }
+
+        long anySeededId(Random random) {
+            return seededIds.get(random.nextInt(seededIds.size()));
+        }
+    }
+
+    private static class Stats {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
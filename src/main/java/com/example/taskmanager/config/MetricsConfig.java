@@ -0,0 +1,36 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+// Turns @Timed on beans (TaskServiceImpl) into timers; repository calls, Hikari pool waits and HTTP requests are
+// already timed by Spring Boot's own metrics auto-configuration
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Static so it is registered before the DataSource is created; the provider defers StatementCounter until then
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return StatementCountingDataSource.wrap(dataSource, statementCounter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.controller.TaskController;
+import com.example.taskmanager.service.TaskStatusWriteBehind;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Write-behind mode only: before any task request other than a status toggle, writes that user's pending toggles
+// to the database, so lists, ETags, stats, exports and later writes all see what was acknowledged
+public class PendingStatusFlushInterceptor implements HandlerInterceptor {
+
+    private static final String STATUS_PATTERN = "/api/tasks" + TaskController.STATUS_PATH;
+
+    private final TaskStatusWriteBehind statusWriteBehind;
+
+    public PendingStatusFlushInterceptor(TaskStatusWriteBehind statusWriteBehind) {
+        this.statusWriteBehind = statusWriteBehind;
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (request.getAttribute("userId") instanceof Long userId && !isStatusToggle(request)) {
+            statusWriteBehind.flush(userId); // No-Op Unless This User Has Toggles Pending
+        }
+        return true;
+    }
+
+    private static boolean isStatusToggle(HttpServletRequest request) {
+        return HttpMethod.PATCH.matches(request.getMethod())
+            && STATUS_PATTERN.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.security.RateLimits;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Runs after UserIdInterceptor, so task requests are charged to the user id rather than the token or address;
+// a rejected request never reaches the service layer or borrows a connection
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimits rateLimits;
+
+    public RateLimitInterceptor(RateLimits rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (request.getAttribute("userId") instanceof Long userId) {
+            boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+            rateLimits.checkTaskRequest(userId, write); // Throws RateLimitExceededException, Answered With 429
+        }
+        return true;
+    }
+}
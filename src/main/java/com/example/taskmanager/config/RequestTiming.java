@@ -0,0 +1,124 @@
+package com.example.taskmanager.config;
+
+import java.util.Arrays;
+
+// Stage durations and SQL statement count for the request running on the current thread. One instance per thread is
+// reset by RequestTimingFilter at the start of each request, so recording a stage allocates nothing; calls from
+// threads that aren't serving a request (async imports, schedulers, SSE senders) are ignored
+public final class RequestTiming {
+
+    public enum Stage {
+        AUTH("auth"),       // JwtFilter: token cache lookup, signature check on a miss, revocation check
+        USER("user"),       // UserIdInterceptor: user id from the token claim or by username
+        SERVICE("service"), // TaskService methods, transaction included
+        WRITE("write");     // From the first body byte to the end of the request: Jackson and the socket write
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private long startedAt;
+    private int statements;
+    private int serviceDepth;
+    private boolean active;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            timing = new RequestTiming();
+            CURRENT.set(timing);
+        }
+        Arrays.fill(timing.stageNanos, 0L);
+        timing.statements = 0;
+        timing.serviceDepth = 0;
+        timing.startedAt = System.nanoTime();
+        timing.active = true;
+        return timing;
+    }
+
+    static void end(RequestTiming timing) {
+        timing.active = false;
+    }
+
+    public static void record(Stage stage, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.active) {
+            timing.stageNanos[stage.ordinal()] += nanos;
+        }
+    }
+
+    public static void countStatement() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.active) {
+            timing.statements++;
+        }
+    }
+
+    // Only the outermost service call is timed, so a service calling another through its proxy isn't counted twice
+    static void enterService() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.active) {
+            timing.serviceDepth++;
+        }
+    }
+
+    static void exitService(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.active && --timing.serviceDepth == 0) {
+            timing.stageNanos[Stage.SERVICE.ordinal()] += nanos;
+        }
+    }
+
+    long startedAt() {
+        return startedAt;
+    }
+
+    long stageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    // Server-Timing value for everything recorded so far, e.g. "auth;dur=0.042, service;dur=3.100, sql;desc=3, app;dur=3.512"
+    String serverTiming(long now) {
+        StringBuilder header = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos > 0) {
+                appendMillis(header.append(stage.metricName()).append(";dur="), nanos).append(", ");
+            }
+        }
+        header.append("sql;desc=").append(statements).append(", ");
+        return appendMillis(header.append("app;dur="), now - startedAt).toString();
+    }
+
+    // Milliseconds with three decimals, without going through String.format
+    private static StringBuilder appendMillis(StringBuilder target, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        target.append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+}
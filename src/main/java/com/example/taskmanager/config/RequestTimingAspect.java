@@ -0,0 +1,22 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.config.RequestTiming.Stage;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+// Times TaskService calls, transaction included, into the current request's service stage
+@Aspect
+public class RequestTimingAspect {
+
+    @Around("execution(* com.example.taskmanager.service.TaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        RequestTiming.enterService();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.exitService(System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RequestTimingConfig {
+
+    // Ahead of Spring Security's filter chain, so the auth stage and 401s are inside the measured request
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            SlowRequestLog slowRequestLog,
+            StatementCounter statementCounter,
+            @Value("${taskmanager.request-timing.header-enabled:true}") boolean headerEnabled) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+            new FilterRegistrationBean<>(new RequestTimingFilter(slowRequestLog, statementCounter, headerEnabled));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RequestTimingAspect requestTimingAspect() {
+        return new RequestTimingAspect();
+    }
+}
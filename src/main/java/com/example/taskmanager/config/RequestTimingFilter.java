@@ -0,0 +1,147 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.config.RequestTiming.Stage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Outermost filter: starts the request's RequestTiming, adds a Server-Timing header just before the first body byte
+// (headers can't change after that, so the header stops there; the write stage only shows in the slow-request log),
+// and hands requests over the threshold to SlowRequestLog
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final StatementCounter statementCounter;
+    private final boolean headerEnabled;
+
+    public RequestTimingFilter(SlowRequestLog slowRequestLog, StatementCounter statementCounter, boolean headerEnabled) {
+        this.slowRequestLog = slowRequestLog;
+        this.statementCounter = statementCounter;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing, headerEnabled);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            long finishedAt = System.nanoTime();
+            timedResponse.bodyStarting(); // Bodiless responses (204, 304) get the header now
+            long bodyStartedAt = timedResponse.bodyStartedAt;
+            timedResponse.detach();
+            RequestTiming.end(timing);
+            statementCounter.requestFinished(timing.statements());
+            long total = finishedAt - timing.startedAt();
+            if (slowRequestLog.isSlow(total)) {
+                slowRequestLog.record(capture(request, response.getStatus(), timing, total, finishedAt - bodyStartedAt));
+            }
+        }
+    }
+
+    // Only runs for slow requests, so it is free to allocate
+    private static SlowRequest capture(HttpServletRequest request, int status, RequestTiming timing, long total, long write) {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            long nanos = stage == Stage.WRITE ? write : timing.stageNanos(stage);
+            stages.put(stage.metricName(), millis(nanos));
+        }
+        Object userId = request.getAttribute("userId");
+        return new SlowRequest(
+            Instant.now(),
+            request.getMethod(),
+            request.getRequestURI(),
+            status,
+            userId instanceof Long id ? id : null,
+            millis(total),
+            stages,
+            timing.statements());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000L / 1_000.0;
+    }
+
+    // Notices the first body access, the last moment headers can still be set. After the request thread leaves the
+    // filter the thread's RequestTiming belongs to its next request, so async writes (export, SSE) no longer touch it
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final boolean headerEnabled;
+        private volatile RequestTiming timing;
+        private long bodyStartedAt;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTiming timing, boolean headerEnabled) {
+            super(response);
+            this.timing = timing;
+            this.headerEnabled = headerEnabled;
+        }
+
+        void bodyStarting() {
+            RequestTiming current = timing;
+            if (current == null || bodyStartedAt != 0) {
+                return;
+            }
+            bodyStartedAt = System.nanoTime();
+            if (headerEnabled && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, current.serverTiming(bodyStartedAt));
+            }
+        }
+
+        void detach() {
+            timing = null;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            bodyStarting();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            bodyStarting();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            bodyStarting();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            bodyStarting();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            bodyStarting();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            bodyStarting();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanager.config;
+
+import java.time.Instant;
+import java.util.Map;
+
+// A request that took longer than taskmanager.slow-requests.threshold, as captured by RequestTimingFilter
+public record SlowRequest(
+    Instant at,
+    String method,
+    String path,
+    int status,
+    Long userId,
+    double totalMillis,
+    Map<String, Double> stageMillis,
+    int sqlStatements) {}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// The last capacity requests slower than the threshold, in a fixed ring: a burst of slow requests overwrites the
+// oldest entries instead of growing memory, and recording one is a single atomic increment plus a slot write
+@Component
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong written = new AtomicLong();
+    private final Counter slowRequests;
+
+    public SlowRequestLog(
+            MeterRegistry registry,
+            @Value("${taskmanager.slow-requests.threshold:500ms}") Duration threshold,
+            @Value("${taskmanager.slow-requests.capacity:100}") int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.slowRequests = Counter.builder("http.server.requests.slow")
+            .description("Requests that took longer than the slow-request threshold")
+            .register(registry);
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    public void record(SlowRequest request) {
+        slowRequests.increment();
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), request);
+    }
+
+    // Newest first
+    public List<SlowRequest> recent() {
+        long end = written.get();
+        int count = (int) Math.min(end, slots.length());
+        List<SlowRequest> recent = new ArrayList<>(count);
+        for (long sequence = end - 1; sequence >= end - count; sequence--) {
+            SlowRequest request = slots.get((int) (sequence % slots.length()));
+            if (request != null) {
+                recent.add(request);
+            }
+        }
+        return recent;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.taskmanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// Every statement StatementCountingDataSource sends to the database ends up here. A JDBC batch is one round trip,
+// so it counts once however many rows it carries. Besides the running totals by type, it feeds the current
+// request's RequestTiming and any StatementListener beans (none in the app; tests register one for query budgets)
+@Component
+public class StatementCounter implements MeterBinder {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        // Classified by the first keyword; Hibernate's sequence fetches and CTEs count as selects
+        static Type of(String sql) {
+            if (sql == null) {
+                return OTHER;
+            }
+            int start = 0;
+            while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+                start++;
+            }
+            if (startsWith(sql, start, "select") || startsWith(sql, start, "with") || startsWith(sql, start, "values")) {
+                return SELECT;
+            }
+            if (startsWith(sql, start, "insert")) {
+                return INSERT;
+            }
+            if (startsWith(sql, start, "update")) {
+                return UPDATE;
+            }
+            if (startsWith(sql, start, "delete")) {
+                return DELETE;
+            }
+            return OTHER;
+        }
+
+        private static boolean startsWith(String sql, int offset, String keyword) {
+            return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+        }
+    }
+
+    // Called on the thread that ran the statement
+    public interface StatementListener {
+        void executed(Type type, String sql);
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final StatementListener[] listeners;
+    private final LongAdder[] executed = new LongAdder[TYPES.length];
+    private volatile DistributionSummary perConnection;
+    private volatile DistributionSummary perRequest;
+
+    @Autowired
+    public StatementCounter(ObjectProvider<StatementListener> listeners) {
+        this(listeners.orderedStream().toList());
+    }
+
+    public StatementCounter(List<StatementListener> listeners) {
+        this.listeners = listeners.toArray(StatementListener[]::new);
+        for (Type type : TYPES) {
+            executed[type.ordinal()] = new LongAdder();
+        }
+    }
+
+    void executed(String sql) {
+        Type type = Type.of(sql);
+        executed[type.ordinal()].increment();
+        RequestTiming.countStatement();
+        for (StatementListener listener : listeners) {
+            listener.executed(type, sql);
+        }
+    }
+
+    // A connection is held for a whole transaction, so this is the statement count of one transaction (or of one
+    // repository call outside a transaction)
+    void connectionReleased(int statements) {
+        DistributionSummary summary = perConnection;
+        if (summary != null) {
+            summary.record(statements);
+        }
+    }
+
+    public void requestFinished(int statements) {
+        DistributionSummary summary = perRequest;
+        if (summary != null) {
+            summary.record(statements);
+        }
+    }
+
+    public long executed(Type type) {
+        return executed[type.ordinal()].sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (Type type : TYPES) {
+            FunctionCounter.builder("jdbc.statements", executed[type.ordinal()], LongAdder::sum)
+                .description("Statements sent to the database; a JDBC batch counts once")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+        this.perConnection = DistributionSummary.builder("jdbc.statements.per.transaction")
+            .description("Statements run while a connection was checked out, one transaction")
+            .register(registry);
+        this.perRequest = DistributionSummary.builder("jdbc.statements.per.request")
+            .description("Statements run by one HTTP request")
+            .register(registry);
+    }
+}
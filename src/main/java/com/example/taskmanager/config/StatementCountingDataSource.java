@@ -0,0 +1,165 @@
+package com.example.taskmanager.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// JDK proxies around the pool's DataSource, its connections and their statements, so every execute* and
+// executeBatch call is counted by StatementCounter whatever issued it (Hibernate, Spring Data, Flyway, JdbcTemplate).
+// unwrap() and isWrapperFor() go straight to the pool, which keeps Hikari's metrics and health checks working
+public final class StatementCountingDataSource {
+
+    private StatementCountingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource, StatementCounter counter) {
+        if (Proxy.isProxyClass(dataSource.getClass()) && Proxy.getInvocationHandler(dataSource) instanceof DataSourceHandler) {
+            return dataSource; // Already Counting
+        }
+        return proxy(DataSource.class, new DataSourceHandler(dataSource, counter));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // equals/hashCode are by proxy identity; everything else not handled by a subclass goes to the target
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Counting(" + target + ")";
+                default -> handle(proxy, method, args);
+            };
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class DataSourceHandler extends DelegatingHandler {
+
+        private final StatementCounter counter;
+
+        DataSourceHandler(DataSource target, StatementCounter counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if ("getConnection".equals(method.getName())) {
+                return proxy(Connection.class, new ConnectionHandler((Connection) result, counter));
+            }
+            return result;
+        }
+    }
+
+    private static final class ConnectionHandler extends DelegatingHandler {
+
+        private final StatementCounter counter;
+        private int statements;
+        private boolean released;
+
+        ConnectionHandler(Connection target, StatementCounter counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        void executed(String sql) {
+            statements++;
+            counter.executed(sql);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "createStatement" -> {
+                    return proxy(Statement.class, statement(method, args, null, proxy));
+                }
+                case "prepareStatement" -> {
+                    return proxy(PreparedStatement.class, statement(method, args, (String) args[0], proxy));
+                }
+                case "prepareCall" -> {
+                    return proxy(CallableStatement.class, statement(method, args, (String) args[0], proxy));
+                }
+                case "close" -> {
+                    if (!released) {
+                        released = true; // Back To The Pool, One Transaction's Worth
+                        counter.connectionReleased(statements);
+                    }
+                }
+                default -> {
+                }
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+
+        private StatementHandler statement(Method method, Object[] args, String sql, Object proxy) throws Throwable {
+            return new StatementHandler(StatementCountingDataSource.invoke(target, method, args), sql, this, proxy);
+        }
+    }
+
+    private static final class StatementHandler extends DelegatingHandler {
+
+        private final String preparedSql; // Null For A Plain Statement, Whose SQL Comes With Each Call
+        private final ConnectionHandler connection;
+        private final Object connectionProxy;
+        private String batchSql;
+
+        StatementHandler(Object target, String preparedSql, ConnectionHandler connection, Object connectionProxy) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" ->
+                    connection.executed(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+                case "executeBatch", "executeLargeBatch" -> {
+                    connection.executed(preparedSql != null ? preparedSql : batchSql);
+                    batchSql = null;
+                }
+                case "addBatch" -> {
+                    if (batchSql == null && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        batchSql = sql;
+                    }
+                }
+                case "clearBatch" -> batchSql = null;
+                case "getConnection" -> {
+                    return connectionProxy; // Callers Closing It Must Go Through The Counting Proxy
+                }
+                default -> {
+                }
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+    }
+}
@@ -1,21 +1,41 @@
 package com.example.taskmanager.config;
 
-import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.UserIdentityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.lang.NonNull;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class UserIdInterceptor implements HandlerInterceptor {
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final Timer claimTimer;
+    private final Timer lookupTimer;
+
+    // Test slices such as @WebMvcTest have no MeterRegistry; the timers then go to a private one nobody reads
+    public UserIdInterceptor(UserIdentityCache userIdentityCache, ObjectProvider<MeterRegistry> registries) {
+        this.userIdentityCache = userIdentityCache;
+        MeterRegistry registry = registries.getIfAvailable(SimpleMeterRegistry::new);
+        this.claimTimer = resolveTimer("claim", registry);
+        this.lookupTimer = resolveTimer("lookup", registry); // Identity Cache, Database On A Miss
+    }
 
-    public UserIdInterceptor(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    private static Timer resolveTimer(String source, MeterRegistry registry) {
+        return Timer.builder("auth.user.resolve")
+            .description("Time to resolve the caller's user id, from the token claim or by username")
+            .tag("source", source)
+            .register(registry);
     }
 
     @Override
@@ -24,10 +44,21 @@ public class UserIdInterceptor implements HandlerInterceptor {
             @NonNull HttpServletResponse response,
             @NonNull Object handler) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            userRepository.findByUsername(username)
-                .ifPresent(user -> request.setAttribute("userId", user.getId()));
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            long started = System.nanoTime();
+            Timer timer = claimTimer;
+            // Tokens from AuthService carry the user id as a signed claim (set by JwtFilter), so skip the lookup
+            if (authentication.getDetails() instanceof Long userId) {
+                request.setAttribute("userId", userId);
+            } else {
+                userIdentityCache.resolveUserId(authentication.getName())
+                    .ifPresent(userId -> request.setAttribute("userId", userId));
+                timer = lookupTimer;
+            }
+            long elapsed = System.nanoTime() - started;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTiming.record(RequestTiming.Stage.USER, elapsed);
         }
         return true;
     }
@@ -1,5 +1,7 @@
 package com.example.taskmanager.config;
 
+import com.example.taskmanager.service.TaskStatusWriteBehind;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,14 +11,26 @@ import org.springframework.lang.NonNull;
 public class WebConfig implements WebMvcConfigurer {
 
     private final UserIdInterceptor userIdInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ObjectProvider<TaskStatusWriteBehind> statusWriteBehind;
 
-    public WebConfig(UserIdInterceptor userIdInterceptor) {
+    public WebConfig(
+            UserIdInterceptor userIdInterceptor,
+            RateLimitInterceptor rateLimitInterceptor,
+            ObjectProvider<TaskStatusWriteBehind> statusWriteBehind) {
         this.userIdInterceptor = userIdInterceptor;
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.statusWriteBehind = statusWriteBehind;
     }
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
         registry.addInterceptor(userIdInterceptor)
             .addPathPatterns("/api/**");
+        registry.addInterceptor(rateLimitInterceptor) // Needs The userId Set Above
+            .addPathPatterns("/api/tasks/**");
+        statusWriteBehind.ifAvailable(writeBehind -> registry // Rate-Limited Requests Don't Get To Flush
+            .addInterceptor(new PendingStatusFlushInterceptor(writeBehind))
+            .addPathPatterns("/api/tasks/**"));
     }
-} 
\ No newline at end of file
+}
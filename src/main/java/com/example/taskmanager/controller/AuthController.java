@@ -1,7 +1,8 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.security.RateLimits;
 import com.example.taskmanager.service.AuthService;
-import com.example.taskmanager.security.JwtFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -12,13 +13,17 @@ import org.springframework.web.server.ResponseStatusException;
 @RequestMapping("/api/auth")
 public class AuthController {
     private final AuthService authService;
+    private final RateLimits rateLimits;
 
-    public AuthController(AuthService authService){
+    public AuthController(AuthService authService, RateLimits rateLimits){
         this.authService = authService;
+        this.rateLimits = rateLimits;
     }
 
+    // Checked before any hashing, so a throttled caller costs no BCrypt time
     @PostMapping("/login")
-    public String login(@RequestBody LoginRequest request) {
+    public String login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        rateLimits.checkLogin(httpRequest.getRemoteAddr(), request.username());
         return authService.login(request.username(), request.password());
     }   
 
@@ -26,15 +31,16 @@ public class AuthController {
     public String logout(@RequestHeader("Authorization") String authHeader) {
         if (authHeader != null && authHeader.startsWith("Bearer ")){
             String token = authHeader.substring(7);
-            JwtFilter.blacklistToken(token); // Add To Blacklist
+            authService.logout(token); // Revoke Until It Expires
         }
         SecurityContextHolder.clearContext();
         return "Logged Out Successfully";
     }
 
     @PostMapping("/register")
-    public String register(@RequestBody RegisterRequest request) {
-        
+    public String register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        rateLimits.checkRegister(httpRequest.getRemoteAddr());
+
         // Added a try-catch block to catch an IllegalArgumentException when a user already exist!
         // Used ResponseStatusException to return a 409 Conflict with a message.
         try {
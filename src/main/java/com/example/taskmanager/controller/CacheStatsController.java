@@ -0,0 +1,64 @@
+package com.example.taskmanager.controller;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Objects;
+
+// Hit ratio and evictions for every Caffeine cache bound to Micrometer (userIdentity, verifiedTokens, tasks, taskPages)
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheStatsController {
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheStatsController(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @GetMapping
+    public List<CacheStats> getCacheStats() {
+        return meterRegistry.find("cache.gets").meters().stream()
+            .map(meter -> meter.getId().getTag("cache"))
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .map(this::statsFor)
+            .toList();
+    }
+
+    private CacheStats statsFor(String cache) {
+        long hits = count("cache.gets", cache, "hit");
+        long misses = count("cache.gets", cache, "miss");
+        long requests = hits + misses;
+        Gauge size = meterRegistry.find("cache.size").tag("cache", cache).gauge();
+        return new CacheStats(
+            cache,
+            size == null ? 0 : (long) size.value(),
+            hits,
+            misses,
+            requests == 0 ? 0.0 : (double) hits / requests,
+            count("cache.evictions", cache, null));
+    }
+
+    private long count(String name, String cache, String result) {
+        Search search = meterRegistry.find(name).tag("cache", cache);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        Meter meter = search.meter();
+        if (meter instanceof FunctionCounter counter) {
+            return (long) counter.count();
+        }
+        return 0;
+    }
+}
+
+record CacheStats(String name, long size, long hits, long misses, double hitRatio, long evictions) {}
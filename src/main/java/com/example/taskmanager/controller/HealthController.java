@@ -1,15 +1,31 @@
 package com.example.taskmanager.controller;
 
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-
+// Kept for clients that poll /health; answers from the same readiness group as /actuator/health/readiness,
+// so it goes 503 when the datasource stops answering
 @RestController
 public class HealthController {
 
+    private final HealthEndpoint healthEndpoint;
+
+    public HealthController(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
     @GetMapping("/health")
-    public String healthCheck(){
-        return "OK";
+    public ResponseEntity<String> healthCheck(){
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : healthEndpoint.health().getStatus();
+        if (!Status.UP.equals(status)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status.getCode());
+        }
+        return ResponseEntity.ok("OK");
     }
-    
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.config.SlowRequest;
+import com.example.taskmanager.config.SlowRequestLog;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Stage breakdowns of the most recent requests over taskmanager.slow-requests.threshold, newest first
+@RestController
+@RequestMapping("/api/admin/slow-requests")
+public class SlowRequestController {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestController(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @GetMapping
+    public List<SlowRequest> getSlowRequests() {
+        return slowRequestLog.recent();
+    }
+}
@@ -1,31 +1,108 @@
 package com.example.taskmanager.controller; // A controller handles HTTP requests (GET, POST)
 
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskSummary;
+import com.example.taskmanager.service.TaskBatchResult;
+import com.example.taskmanager.service.TaskChanges;
 import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.TaskSlice;
+import com.example.taskmanager.service.TaskStats;
+import com.example.taskmanager.service.TaskStatusWriteBehind;
+import com.example.taskmanager.service.TaskSummarySlice;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController // Makes this a RESTful API Controller
 @RequestMapping("/api/tasks") // All endpoints start with /api/tasks
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String STATUS_PATH = "/{id}/status";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired(required = false) // Only With taskmanager.write-behind.enabled=true
+    private TaskStatusWriteBehind statusWriteBehind;
+
+    // Body stays a plain array; the keyset cursor for the next page travels in headers.
+    // The ETag is the user's collection version, read before the query so a concurrent write can only make it older.
+    // fields=id,title,completed switches to TaskSummary rows, read without the description or an entity per row
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(
+    public ResponseEntity<List<?>> getAllTasks(
             @RequestParam(required = false) Boolean completed,
             @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestAttribute("userId") Long userId,
+            WebRequest webRequest) {
+        Set<String> selected = fields == null ? null : TaskSummary.parseFields(fields); // Bad Field Is A 400 Before Any Work
+        String etag = "W/\"" + taskService.getTaskListVersion(userId) + (selected == null ? "" : ";" + String.join(",", selected)) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Already Written, No Query And No Serialization
+        }
+        List<?> content;
+        String nextCursor;
+        if (selected == null) {
+            TaskSlice slice = taskService.getAllTasks(completed, sortBy, cursor, size, userId);
+            content = slice.content();
+            nextCursor = slice.nextCursor();
+        } else {
+            TaskSummarySlice slice = taskService.getTaskSummaries(completed, sortBy, cursor, size, userId);
+            content = slice.content().stream().map(summary -> summary.select(selected)).toList();
+            nextCursor = slice.nextCursor();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (nextCursor != null) {
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, nextCursor)
+                .header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+        return response.body(content);
+    }
+
+    // Delta sync: what changed after the given change id, with tombstones for deletes; 410 if that far back is gone
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer size,
             @RequestAttribute("userId") Long userId) {
-        return ResponseEntity.ok(taskService.getAllTasks(completed, sortBy, userId));
+        return ResponseEntity.ok(taskService.getChangesSince(since, size, userId));
+    }
+
+    // Totals come from per-user counters kept current on every write; completedPerDay covers taskmanager.stats.days UTC days
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats(@RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskService.getTaskStats(userId));
+    }
+
+    // Ranked by match quality; every word in q has to match the start of a word in the title or description
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size,
+            @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskService.searchTasks(q, size, userId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id, @RequestAttribute("userId") Long userId) {
-        return ResponseEntity.ok(taskService.getTaskById(id, userId));
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, @RequestAttribute("userId") Long userId, WebRequest webRequest) {
+        Task task = taskService.getTaskById(id, userId); // Served From TaskCache When Warm
+        String etag = "W/\"" + task.getId() + "-" + task.getVersion() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(task);
     }
 
     @PostMapping
@@ -38,8 +115,12 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(id, task, userId));
     }
 
-    @PatchMapping("/{id}/status")
+    // 202 in write-behind mode: the toggle is durable in the local log but not yet in the database
+    @PatchMapping(STATUS_PATH)
     public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request, @RequestAttribute("userId") Long userId) {
+        if (statusWriteBehind != null) {
+            return ResponseEntity.accepted().body(statusWriteBehind.updateTaskStatus(id, request.completed(), userId));
+        }
         return ResponseEntity.ok(taskService.updateTaskStatus(id, request.completed(), userId));
     }
 
@@ -48,6 +129,24 @@ public class TaskController {
         taskService.deleteTask(id, userId);
         return ResponseEntity.ok().build();
     }
+
+    // Bulk endpoints answer 200 with one result per item, in request order
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> createTasks(@RequestBody List<Task> tasks, @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskService.createTasks(tasks, userId));
+    }
+
+    @PatchMapping("/batch/status")
+    public ResponseEntity<List<TaskBatchResult>> updateTaskStatuses(@RequestBody BatchStatusUpdateRequest request, @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskService.updateTaskStatuses(request.ids(), request.completed(), userId));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> deleteTasks(@RequestBody BatchDeleteRequest request, @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskService.deleteTasks(request.ids(), userId));
+    }
 }
 
-record StatusUpdateRequest(boolean completed) {}
\ No newline at end of file
+record StatusUpdateRequest(boolean completed) {}
+record BatchStatusUpdateRequest(List<Long> ids, boolean completed) {}
+record BatchDeleteRequest(List<Long> ids) {}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.service.TaskEventStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-Sent Events feed of the caller's task changes, the push counterpart of GET /api/tasks/changes.
+// Nothing here touches the database on the request thread, so an open stream never holds a pooled connection.
+@RestController
+@RequestMapping("/api/tasks/events")
+public class TaskEventController {
+
+    private final TaskEventStream taskEventStream;
+
+    public TaskEventController(TaskEventStream taskEventStream) {
+        this.taskEventStream = taskEventStream;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestAttribute("userId") Long userId) {
+        return taskEventStream.subscribe(userId, lastEventId); // Resumes After lastEventId When The Client Reconnects
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.service.TaskExporter;
+import com.example.taskmanager.service.TaskFileFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// All of the caller's tasks in one download, streamed as it is read rather than built up as a list first
+@RestController
+@RequestMapping("/api/tasks/export")
+public class TaskExportController {
+
+    private final TaskExporter taskExporter;
+
+    public TaskExportController(TaskExporter taskExporter) {
+        this.taskExporter = taskExporter;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestAttribute("userId") Long userId) {
+        TaskFileFormat exportFormat = TaskFileFormat.fromParameter(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        // Runs on an async thread once the headers below have gone out
+        StreamingResponseBody body = out -> {
+            try (OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out) {
+                taskExporter.export(userId, exportFormat, target);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.extension())
+                .build()
+                .toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
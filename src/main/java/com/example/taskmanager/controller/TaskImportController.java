@@ -0,0 +1,58 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.service.TaskFileFormat;
+import com.example.taskmanager.service.TaskImportStatus;
+import com.example.taskmanager.service.TaskImporter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Bulk import of NDJSON or CSV (the same formats /api/tasks/export writes). The body is read as a stream,
+// never bound to a List; it may be up to taskmanager.import.max-bytes, past that the answer is 413.
+@RestController
+@RequestMapping("/api/tasks/import")
+public class TaskImportController {
+
+    private final TaskImporter taskImporter;
+
+    public TaskImportController(TaskImporter taskImporter) {
+        this.taskImporter = taskImporter;
+    }
+
+    // async=true answers 202 straight away with a job to poll; otherwise the response waits for the last row
+    @PostMapping
+    public ResponseEntity<TaskImportStatus> importTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestAttribute("userId") Long userId,
+            HttpServletRequest request,
+            InputStream body) throws IOException {
+        TaskFileFormat importFormat = TaskFileFormat.fromParameter(format);
+        taskImporter.checkSize(request.getContentLengthLong());
+        if (!async) {
+            return ResponseEntity.ok(taskImporter.importTasks(userId, importFormat, body));
+        }
+        TaskImportStatus job = taskImporter.startImport(userId, importFormat, body);
+        return ResponseEntity.accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{jobId}")
+                .buildAndExpand(job.jobId())
+                .toUri())
+            .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<TaskImportStatus> getImport(@PathVariable String jobId, @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok(taskImporter.getImport(jobId, userId));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.exception;
+
+public class ChangeHistoryExpiredException extends RuntimeException {
+    public ChangeHistoryExpiredException(long since) {
+        super("Changes since " + since + " are no longer available, fetch the full task list and sync again");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException() {
+        super("Too many login or register requests in progress, try again shortly");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.exception;
+
+public class ImportCapacityExceededException extends RuntimeException {
+    public ImportCapacityExceededException() {
+        super("Too many imports queued, try again later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String jobId) {
+        super("Import job not found with ID: " + jobId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.exception;
+
+public class ImportTooLargeException extends RuntimeException {
+    public ImportTooLargeException(long maxBytes) {
+        super("Import body is larger than " + maxBytes + " bytes");
+    }
+}
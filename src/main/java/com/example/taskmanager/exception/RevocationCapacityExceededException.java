@@ -0,0 +1,14 @@
+package com.example.taskmanager.exception;
+
+public class RevocationCapacityExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public RevocationCapacityExceededException(long retryAfterSeconds) {
+        super("Too many logged-out tokens held, try again in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,17 +1,34 @@
 package com.example.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Entity
 @Data
+@Table(indexes = { // Created By db/migration/V2__add_task_and_user_indexes.sql
+    @Index(name = "idx_task_user_id_id", columnList = "user_id, id"),
+    @Index(name = "idx_task_user_id_completed_id", columnList = "user_id, completed, id"),
+    @Index(name = "idx_task_user_id_title_id", columnList = "user_id, title, id"),
+    @Index(name = "idx_task_user_id_completed_at", columnList = "user_id, completed_at") // V6__task_completed_at.sql
+})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq") // Sequence Keeps Inserts Batchable
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50) // Matches INCREMENT BY In V3
     private Long id;
 
     private String title;
     private String description;
     private boolean completed = false;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Set By The Server When A Task Is Completed, Cleared When Reopened
+    private Instant completedAt;
+
     private Long userId;
+
+    @Version // Bumped On Every Write, Including The Bulk UPDATEs In TaskRepository; Backs The Task ETag
+    private Long version;
 } 
\ No newline at end of file
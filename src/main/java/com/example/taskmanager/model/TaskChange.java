@@ -0,0 +1,44 @@
+package com.example.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_change", indexes = { // Created By db/migration/V5__task_change_log.sql
+    @Index(name = "idx_task_change_user_id_id", columnList = "user_id, id"),
+    @Index(name = "idx_task_change_user_id_task_id_id", columnList = "user_id, task_id, id")
+})
+public class TaskChange {
+
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "task_change_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public TaskChange(Long userId, Long taskId, Type type, Instant changedAt) {
+        this.userId = userId;
+        this.taskId = taskId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.taskmanager.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_change_horizon")
+public class TaskChangeHorizon {
+    @Id
+    private Long userId;
+
+    private long horizon; // Changes Up To Here May Have Been Purged
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// List row read straight into a record by the page queries in TaskRepository: three columns, no description,
+// and no managed entity for Hibernate to snapshot. Fields dropped by a fields= selection are null and left out of the JSON
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskSummary(Long id, String title, Boolean completed) {
+
+    public static final List<String> FIELDS = List.of("id", "title", "completed");
+
+    // Comma-separated subset of FIELDS, e.g. "title,id"; returned in FIELDS order so equal selections compare equal
+    public static Set<String> parseFields(String fields) {
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + FIELDS);
+            }
+            requested.add(name);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        FIELDS.stream().filter(requested::contains).forEach(selected::add);
+        return selected;
+    }
+
+    public TaskSummary select(Set<String> fields) {
+        if (fields.size() == FIELDS.size()) {
+            return this; // Everything Selected, Nothing To Copy
+        }
+        return new TaskSummary(
+            fields.contains("id") ? id : null,
+            fields.contains("title") ? title : null,
+            fields.contains("completed") ? completed : null);
+    }
+}
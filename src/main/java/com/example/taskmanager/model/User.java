@@ -1,11 +1,13 @@
 package com.example.taskmanager.model;
 
+import com.example.taskmanager.security.UserIdentityCacheListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "app_user")
+@Table(name = "app_user", indexes = @Index(name = "ux_app_user_username", columnList = "username", unique = true))
+@EntityListeners(UserIdentityCacheListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,44 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.TaskChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    @Query("SELECT c FROM TaskChange c WHERE c.userId = :userId AND c.id > :since ORDER BY c.userId, c.id")
+    List<TaskChange> findByUserIdAndIdGreaterThanOrderById(
+        @Param("userId") Long userId, @Param("since") long since, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM TaskChange c WHERE c.userId = :userId")
+    long findLatestIdByUserId(@Param("userId") Long userId);
+
+    // Compaction: only the newest change per task matters to a syncing client, it carries the task's current state
+    @Modifying
+    @Query("DELETE FROM TaskChange c WHERE EXISTS (SELECT 1 FROM TaskChange n "
+        + "WHERE n.userId = c.userId AND n.taskId = c.taskId AND n.id > c.id)")
+    int deleteSuperseded();
+
+    @Query("SELECT c.userId AS userId, MAX(c.id) AS lastId FROM TaskChange c "
+        + "WHERE c.type = com.example.taskmanager.model.TaskChange.Type.DELETED AND c.changedAt < :cutoff "
+        + "GROUP BY c.userId")
+    List<PurgedTombstones> findTombstoneRangesOlderThan(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM TaskChange c "
+        + "WHERE c.type = com.example.taskmanager.model.TaskChange.Type.DELETED AND c.changedAt < :cutoff")
+    int deleteTombstonesOlderThan(@Param("cutoff") Instant cutoff);
+
+    interface PurgedTombstones {
+        Long getUserId();
+        Long getLastId();
+    }
+}
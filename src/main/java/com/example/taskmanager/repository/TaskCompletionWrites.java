@@ -0,0 +1,14 @@
+package com.example.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+// Writes that take a completion back and hand back the completedAt they removed, for the per-day counts. Each is
+// one ownership-checked statement; the returned list has one entry when it applied (null for a task completed
+// before completedAt existed) and none when the task is missing, not the caller's or in the other state.
+public interface TaskCompletionWrites {
+
+    List<Instant> reopenByIdAndUserId(Long id, Long userId);
+
+    List<Instant> deleteCompletedByIdAndUserId(Long id, Long userId);
+}
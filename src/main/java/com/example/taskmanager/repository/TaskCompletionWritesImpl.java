@@ -0,0 +1,45 @@
+package com.example.taskmanager.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.util.List;
+
+// H2's data change delta table (OLD TABLE) is its UPDATE/DELETE ... RETURNING: the row is what the write itself
+// changed, so a concurrent status flip can't skew the counts. Flushes before and clears after, like the
+// @Modifying(flushAutomatically, clearAutomatically) writes in TaskRepository, so a later read sees the new row
+class TaskCompletionWritesImpl implements TaskCompletionWrites {
+
+    private static final String REOPEN = "SELECT completed_at FROM OLD TABLE ("
+        + "UPDATE task SET completed = FALSE, completed_at = NULL, version = version + 1 "
+        + "WHERE id = :id AND user_id = :userId AND completed = TRUE)";
+    private static final String DELETE_COMPLETED = "SELECT completed_at FROM OLD TABLE ("
+        + "DELETE FROM task WHERE id = :id AND user_id = :userId AND completed = TRUE)";
+
+    private final EntityManager entityManager;
+
+    TaskCompletionWritesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Instant> reopenByIdAndUserId(Long id, Long userId) {
+        return run(REOPEN, id, userId);
+    }
+
+    @Override
+    public List<Instant> deleteCompletedByIdAndUserId(Long id, Long userId) {
+        return run(DELETE_COMPLETED, id, userId);
+    }
+
+    @SuppressWarnings("unchecked") // getResultList() Of A Native Query Is Raw
+    private List<Instant> run(String sql, Long id, Long userId) {
+        entityManager.flush();
+        List<Instant> completedAt = entityManager.createNativeQuery(sql, Instant.class)
+            .setParameter("id", id)
+            .setParameter("userId", userId)
+            .getResultList();
+        entityManager.clear();
+        return completedAt;
+    }
+}
@@ -1,14 +1,145 @@
 package com.example.taskmanager.repository;
 
 import com.example.taskmanager.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+// Keyset (seek) pages: callers pass the last seen key instead of an offset, so no COUNT(*) and no skipped rows.
+// ORDER BY repeats the equality columns first (userId, completed) so H2 sees that the composite indexes from
+// V2__add_task_and_user_indexes.sql already return rows in order and skips the sort.
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByUserIdOrderById(Long userId);
-    List<Task> findByUserIdAndCompletedOrderById(Long userId, boolean completed);
-    List<Task> findByUserIdOrderByTitle(Long userId);
-} 
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskCompletionWrites {
+    // Each page query takes the type to read: Task for full rows, or a record such as TaskSummary, for which
+    // Spring Data rewrites "SELECT t" into a constructor expression and only the record's columns are fetched
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId ORDER BY t.userId, t.id")
+    <T> List<T> findByUserIdOrderById(@Param("userId") Long userId, Limit limit, Class<T> type);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.id > :afterId ORDER BY t.userId, t.id")
+    <T> List<T> findByUserIdAndIdGreaterThanOrderById(
+        @Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit, Class<T> type);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.completed = :completed "
+        + "ORDER BY t.userId, t.completed, t.id")
+    <T> List<T> findByUserIdAndCompletedOrderById(
+        @Param("userId") Long userId, @Param("completed") boolean completed, Limit limit, Class<T> type);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.completed = :completed AND t.id > :afterId "
+        + "ORDER BY t.userId, t.completed, t.id")
+    <T> List<T> findByUserIdAndCompletedAndIdGreaterThanOrderById(
+        @Param("userId") Long userId, @Param("completed") boolean completed, @Param("afterId") Long afterId,
+        Limit limit, Class<T> type);
+
+    // Title pages order by (title, id) with null titles first, so the id breaks ties between equal titles
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId ORDER BY t.userId, t.title ASC NULLS FIRST, t.id ASC")
+    <T> List<T> findByUserIdOrderByTitle(@Param("userId") Long userId, Limit limit, Class<T> type);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId "
+        + "AND (t.title IS NOT NULL OR t.id > :afterId) "
+        + "ORDER BY t.userId, t.title ASC NULLS FIRST, t.id ASC")
+    <T> List<T> findByUserIdAfterNullTitleOrderByTitle(
+        @Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit, Class<T> type);
+
+    // title >= :afterTitle gives the index a range to seek on; the OR then drops the already-seen equal titles
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.title >= :afterTitle "
+        + "AND (t.title > :afterTitle OR t.id > :afterId) "
+        + "ORDER BY t.userId, t.title ASC, t.id ASC")
+    <T> List<T> findByUserIdAfterTitleOrderByTitle(
+        @Param("userId") Long userId, @Param("afterTitle") String afterTitle, @Param("afterId") Long afterId,
+        Limit limit, Class<T> type);
+
+    // Export: a forward-only cursor fetched 500 rows per round trip; read-only so Hibernate keeps no dirty-check snapshots.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId ORDER BY t.userId, t.id")
+    Stream<Task> streamByUserIdOrderById(@Param("userId") Long userId);
+
+    // Same cursor over every user's tasks, for rebuilding in-memory indexes at startup
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAllOrderById();
+
+    // Bulk endpoints: one SELECT to classify the requested ids, then one set-based statement for the owned ones
+    @Query("SELECT t.id AS id, t.userId AS userId, t.completed AS completed, t.completedAt AS completedAt "
+        + "FROM Task t WHERE t.id IN :ids")
+    List<TaskOwner> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Status writes only touch rows whose status actually changes, so the count is the number of tasks completed
+    // (or reopened) and a repeat of the same status neither bumps the version nor moves completedAt.
+    // Single-row writes carry the ownership check in the WHERE clause; 0 rows means missing, not the caller's or unchanged
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.completedAt = :completedAt, t.version = t.version + 1 "
+        + "WHERE t.id = :id AND t.userId = :userId AND t.completed <> :completed")
+    int updateCompletedByIdAndUserId(
+        @Param("id") Long id, @Param("userId") Long userId, @Param("completed") boolean completed,
+        @Param("completedAt") Instant completedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.userId = :userId AND t.completed = false")
+    int deleteOpenByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.completedAt = :completedAt, t.version = t.version + 1 "
+        + "WHERE t.userId = :userId AND t.id IN :ids AND t.completed <> :completed")
+    int updateCompletedByUserIdAndIdIn(
+        @Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("completed") boolean completed,
+        @Param("completedAt") Instant completedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.userId = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Stats: counted by the database over the (user_id, completed, id) and (user_id, completed_at) indexes,
+    // never by loading tasks
+    @Query("SELECT COUNT(t) AS total, COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0) AS completed "
+        + "FROM Task t WHERE t.userId = :userId")
+    TaskCounts countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT t.userId AS userId, COUNT(t) AS total, SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed "
+        + "FROM Task t WHERE t.userId IN :userIds GROUP BY t.userId")
+    List<UserTaskCounts> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Days are UTC calendar days
+    @Query("SELECT CAST(t.completedAt AS LocalDate) AS day, COUNT(t) AS completed FROM Task t "
+        + "WHERE t.userId = :userId AND t.completedAt >= :since GROUP BY CAST(t.completedAt AS LocalDate)")
+    List<DailyCompletions> countCompletedPerDay(@Param("userId") Long userId, @Param("since") Instant since);
+
+    interface TaskOwner {
+        Long getId();
+        Long getUserId();
+        boolean isCompleted();
+        Instant getCompletedAt();
+    }
+
+    interface TaskCounts {
+        long getTotal();
+        long getCompleted();
+    }
+
+    interface UserTaskCounts extends TaskCounts {
+        Long getUserId();
+    }
+
+    interface DailyCompletions {
+        LocalDate getDay();
+        long getCompleted();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.taskmanager.security;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Same in-memory store, plus an append-only "<expiresAtMillis> <tokenId>" log replayed on startup so
+// logouts survive a restart. The log is rewritten with only live entries once it is mostly dead lines.
+public class FileTokenRevocationStore extends InMemoryTokenRevocationStore {
+
+    private static final int MIN_LINES_BEFORE_COMPACTION = 1_000;
+
+    private final Path file;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private BufferedWriter writer; // Guarded By writeLock
+    private int linesWritten;
+
+    public FileTokenRevocationStore(Path file, int maxEntries, Duration sweepInterval, Clock clock) {
+        super(maxEntries, sweepInterval, clock);
+        this.file = file;
+        try {
+            load();
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open token revocation log " + file, e);
+        }
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        writeLock.lock();
+        try {
+            super.revoke(tokenId, expiresAt); // Throws Before Anything Is Logged When The Store Is Full
+            writer.write(expiresAt.toEpochMilli() + " " + tokenId);
+            writer.newLine();
+            writer.flush();
+            linesWritten++;
+            if (linesWritten > Math.max(MIN_LINES_BEFORE_COMPACTION, size() * 2)) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist token revocation", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Every Line Was Already Flushed
+        } finally {
+            writeLock.unlock();
+        }
+        super.close();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, Long> revocations = new HashMap<>();
+        for (String line : lines) {
+            String[] parts = line.split(" ", 2);
+            if (parts.length != 2) {
+                continue; // Torn Last Line From A Crash
+            }
+            try {
+                revocations.put(parts[1], Long.parseLong(parts[0])); // A Later Line For The Same Token Wins
+            } catch (NumberFormatException e) {
+                // Skip Corrupt Line
+            }
+        }
+        restore(revocations); // Never Throws, A Log Written Under A Larger max-entries Is Trimmed To Fit
+    }
+
+    private void compact() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Long> live = snapshot();
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> entry : live.entrySet()) {
+                out.write(entry.getValue() + " " + entry.getKey());
+                out.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        linesWritten = live.size();
+    }
+}
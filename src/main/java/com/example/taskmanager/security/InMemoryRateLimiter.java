@@ -0,0 +1,66 @@
+package com.example.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Each bucket is one AtomicLong holding the time its next request is due (GCRA), advanced by CAS, so admitting a
+// request never locks. A bucket left alone for a whole period is full again, which is exactly what a missing one
+// means, so buckets expire after the longest period and memory stays bounded by the number of active keys
+public class InMemoryRateLimiter implements RateLimiter, MeterBinder {
+
+    public static final String CACHE_NAME = "rateLimitBuckets";
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Clock clock;
+
+    public InMemoryRateLimiter(long maximumKeys, Duration longestPeriod, Clock clock) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys) // Past This The Least Used Buckets Are Dropped, Which Only Refills Them Early
+            .expireAfterAccess(longestPeriod)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        AtomicLong dueAt = buckets.getIfPresent(key);
+        if (dueAt == null) {
+            dueAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        long now = nowNanos();
+        long interval = limit.emissionIntervalNanos();
+        long burst = limit.period().toNanos();
+        while (true) {
+            long current = dueAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait; // Rejected Requests Don't Consume, So Retrying After wait Succeeds
+            }
+            if (dueAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private long nowNanos() {
+        Instant now = clock.instant();
+        return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, buckets, CACHE_NAME);
+    }
+}
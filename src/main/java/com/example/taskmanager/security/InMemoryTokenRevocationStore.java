@@ -0,0 +1,180 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.exception.RevocationCapacityExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lookups are a lock-free ConcurrentHashMap read; a skip list ordered by expiry lets the sweeper drop expired
+// entries without scanning everything. An unexpired revocation is never dropped: once the store is full, a new
+// logout is refused until enough entries expire. The one exception is restoring a persisted log at startup that
+// holds more than maxEntries, which keeps the latest-expiring ones rather than failing to start
+public class InMemoryTokenRevocationStore implements TokenRevocationStore, MeterBinder, AutoCloseable {
+
+    private final ConcurrentHashMap<String, Long> expiryByTokenId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Revocation> byExpiry = new ConcurrentSkipListSet<>();
+    private final AtomicInteger entries = new AtomicInteger(); // Slots Taken, Reserved Before Each New Put
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final AtomicLong capacityRejections = new AtomicLong();
+    private final int maxEntries;
+    private final Clock clock;
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryTokenRevocationStore(int maxEntries, Duration sweepInterval, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= clock.millis()) {
+            return; // Already Expired, The Parser Rejects It Anyway
+        }
+        boolean reserved = false;
+        if (!expiryByTokenId.containsKey(tokenId)) {
+            if (!reserveSlot()) {
+                sweep(); // Expired Entries Make Room First
+                if (!reserveSlot()) {
+                    capacityRejections.incrementAndGet();
+                    throw new RevocationCapacityExceededException(secondsUntilSoonestExpiry());
+                }
+            }
+            reserved = true;
+        }
+        Long previous = expiryByTokenId.put(tokenId, expiresAtMillis);
+        if (previous != null) {
+            if (reserved) {
+                entries.decrementAndGet(); // A Concurrent Logout Of The Same Token Already Took Its Slot
+            }
+            byExpiry.remove(new Revocation(previous, tokenId));
+        } else if (!reserved) {
+            entries.incrementAndGet(); // Swept Between The Check And The Put
+        }
+        byExpiry.add(new Revocation(expiresAtMillis, tokenId));
+    }
+
+    // Compare-and-set, so concurrent logouts can't all pass the capacity check and overshoot maxEntries
+    private boolean reserveSlot() {
+        int taken;
+        do {
+            taken = entries.get();
+            if (taken >= maxEntries) {
+                return false;
+            }
+        } while (!entries.compareAndSet(taken, taken + 1));
+        return true;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Long expiresAtMillis = expiryByTokenId.get(tokenId);
+        return expiresAtMillis != null && expiresAtMillis > clock.millis();
+    }
+
+    @Override
+    public int size() {
+        return expiryByTokenId.size();
+    }
+
+    public void sweep() {
+        long now = clock.millis();
+        while (!byExpiry.isEmpty()) {
+            Revocation head = byExpiry.first();
+            if (head.expiresAtMillis() > now) {
+                break;
+            }
+            if (byExpiry.remove(head) && expiryByTokenId.remove(head.tokenId(), head.expiresAtMillis())) {
+                entries.decrementAndGet();
+                expiredEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    private long secondsUntilSoonestExpiry() {
+        Revocation soonest = byExpiry.isEmpty() ? null : byExpiry.first();
+        long millis = soonest == null ? 0 : soonest.expiresAtMillis() - clock.millis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    // Startup replay of tokenId -> expiresAtMillis into an empty store; whatever doesn't fit in maxEntries is dropped
+    // soonest-expiring first and counted as a capacity eviction
+    protected void restore(Map<String, Long> revocations) {
+        long now = clock.millis();
+        List<Revocation> live = revocations.entrySet().stream()
+            .filter(entry -> entry.getValue() > now)
+            .map(entry -> new Revocation(entry.getValue(), entry.getKey()))
+            .sorted(Comparator.reverseOrder())
+            .toList();
+        for (Revocation revocation : live) {
+            if (!reserveSlot()) {
+                capacityEvictions.incrementAndGet();
+                continue;
+            }
+            expiryByTokenId.put(revocation.tokenId(), revocation.expiresAtMillis());
+            byExpiry.add(revocation);
+        }
+    }
+
+    // tokenId -> expiresAtMillis copy, for implementations that persist the store
+    protected Map<String, Long> snapshot() {
+        return Map.copyOf(expiryByTokenId);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("jwt.revocations.size", this, InMemoryTokenRevocationStore::size)
+            .description("Revoked tokens currently held")
+            .register(registry);
+        FunctionCounter.builder("jwt.revocations.evictions", expiredEvictions, AtomicLong::get)
+            .tag("cause", "expired")
+            .register(registry);
+        FunctionCounter.builder("jwt.revocations.evictions", capacityEvictions, AtomicLong::get)
+            .tag("cause", "capacity")
+            .description("Unexpired revocations dropped at startup because the persisted log held more than max-entries")
+            .register(registry);
+        FunctionCounter.builder("jwt.revocations.rejected", capacityRejections, AtomicLong::get)
+            .description("Logouts refused because the store was full of unexpired revocations")
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private record Revocation(long expiresAtMillis, String tokenId) implements Comparable<Revocation> {
+        private static final Comparator<Revocation> ORDER = Comparator
+            .comparingLong(Revocation::expiresAtMillis)
+            .thenComparing(Revocation::tokenId);
+
+        @Override
+        public int compareTo(Revocation other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.taskmanager.security;
 
+import com.example.taskmanager.config.RequestTiming;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.lang.NonNull;
@@ -13,17 +20,64 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
-
-import java.util.HashSet;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class JwtFilter extends OncePerRequestFilter {
-    private final Key key;
-    private static final Set<String> BLACKLISTED_TOKENS = new HashSet<>();
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+
+    private final JwtParser parser;
+    private final TokenRevocationStore revocationStore;
+    private final VerifiedTokenCache verifiedTokens;
+    private final Set<String> adminUsernames;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
-    public JwtFilter(String secretKey){
-        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    public JwtFilter(
+            String secretKey,
+            TokenRevocationStore revocationStore,
+            VerifiedTokenCache verifiedTokens,
+            MeterRegistry registry,
+            Set<String> adminUsernames){
+        this(parser(secretKey), revocationStore, verifiedTokens, registry, adminUsernames);
+    }
+
+    // adminUsernames get ROLE_ADMIN, which the /api/admin endpoints require
+    public JwtFilter(
+            JwtParser parser,
+            TokenRevocationStore revocationStore,
+            VerifiedTokenCache verifiedTokens,
+            MeterRegistry registry,
+            Set<String> adminUsernames){
+        this.parser = parser;
+        this.revocationStore = revocationStore;
+        this.verifiedTokens = verifiedTokens;
+        this.adminUsernames = Set.copyOf(adminUsernames);
+        this.cachedTimer = verifyTimer("cached", registry);
+        this.verifiedTimer = verifyTimer("verified", registry);
+        this.rejectedTimer = verifyTimer("rejected", registry);
+    }
+
+    // Build Once And Share, JwtParser Is Immutable And Thread-Safe
+    public static JwtParser parser(String secretKey) {
+        return Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
+            .build();
+    }
+
+    private static Timer verifyTimer(String outcome, MeterRegistry registry) {
+        return Timer.builder("auth.token.verify")
+            .description("Time to authenticate a bearer token: cache lookup, signature check on a miss, revocation check")
+            .tag("outcome", outcome)
+            .register(registry);
     }
 
     @Override
@@ -33,33 +87,62 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")){
+            long started = System.nanoTime();
             String token = authHeader.substring(7);
-
-            if (BLACKLISTED_TOKENS.contains(token)){
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
-            }
-            try {
-                String username = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-                if(username != null) {
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(username, null, null);
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+            String digest = tokenDigest(token);
+            VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+            Timer timer = cachedTimer;
+            if (verified == null) {
+                try {
+                    verified = verify(token, digest);
+                } catch (Exception e) {
+                    recordAuth(rejectedTimer, started);
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
                 }
-            } catch (Exception e) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                verifiedTokens.put(digest, verified);
+                timer = verifiedTimer;
+            }
+            if (verified.isExpired(System.currentTimeMillis()) || revocationStore.isRevoked(verified.revocationKey())) {
+                recordAuth(rejectedTimer, started);
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // Expired Or Logged Out
                 return;
             }
+            recordAuth(timer, started);
+            if(verified.username() != null) {
+                List<GrantedAuthority> authorities = adminUsernames.contains(verified.username()) ? ADMIN_AUTHORITIES : List.of();
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(verified.username(), null, authorities);
+                auth.setDetails(verified.userId()); // Null For Tokens Without The Claim
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
-    public static void blacklistToken(String token){
-        BLACKLISTED_TOKENS.add(token);
+    private static void recordAuth(Timer timer, long started) {
+        long elapsed = System.nanoTime() - started;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTiming.record(RequestTiming.Stage.AUTH, elapsed);
+    }
+
+    private VerifiedToken verify(String token, String digest) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        long expiresAtMillis = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        String revocationKey = claims.getId() != null ? claims.getId() : digest;
+        return new VerifiedToken(claims.getSubject(), claims.get(USER_ID_CLAIM, Long.class), revocationKey, expiresAtMillis);
+    }
+
+    // Tokens from AuthService carry a jti; older ones are keyed by a SHA-256 so raw tokens are never stored
+    public static String revocationKey(Claims claims, String token) {
+        return claims.getId() != null ? claims.getId() : tokenDigest(token);
+    }
+
+    public static String tokenDigest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-    
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.taskmanager.security;
+
+import java.time.Duration;
+
+// A bucket of capacity requests that refills completely over period, one request every period / capacity
+public record RateLimit(String name, long capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a capacity of at least 1 and a positive period");
+        }
+    }
+
+    public long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanager.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    private static final String STORE_PROPERTY = "taskmanager.rate-limit.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public InMemoryRateLimiter inMemoryRateLimiter(
+            @Value("${taskmanager.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${taskmanager.rate-limit.bucket-expiry:1h}") Duration bucketExpiry) {
+        return new InMemoryRateLimiter(maxKeys, bucketExpiry, Clock.systemUTC());
+    }
+}
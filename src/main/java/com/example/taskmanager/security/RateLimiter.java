@@ -0,0 +1,9 @@
+package com.example.taskmanager.security;
+
+// Token buckets by key. The in-memory one limits each node on its own; a shared store (Redis, the database) can
+// implement this to enforce one budget across nodes
+public interface RateLimiter {
+
+    // 0 when a request was admitted, otherwise how many nanoseconds until the key's next request would be
+    long tryAcquire(String key, RateLimit limit);
+}
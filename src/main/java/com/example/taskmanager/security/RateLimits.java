@@ -0,0 +1,88 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// The per-route budgets. Task requests are charged to the caller's user id; login is charged to both the client
+// address and the username, so neither one client cycling through usernames nor many clients guessing one
+// user's password get unlimited BCrypt work
+@Component
+public class RateLimits {
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final RateLimit taskReads;
+    private final RateLimit taskWrites;
+    private final RateLimit loginsByAddress;
+    private final RateLimit loginsByUsername;
+    private final RateLimit registrationsByAddress;
+    private final MeterRegistry registry;
+
+    public RateLimits(
+            RateLimiter rateLimiter,
+            MeterRegistry registry,
+            @Value("${taskmanager.rate-limit.enabled:true}") boolean enabled,
+            @Value("${taskmanager.rate-limit.task-reads.capacity:300}") long taskReadCapacity,
+            @Value("${taskmanager.rate-limit.task-reads.period:1m}") Duration taskReadPeriod,
+            @Value("${taskmanager.rate-limit.task-writes.capacity:120}") long taskWriteCapacity,
+            @Value("${taskmanager.rate-limit.task-writes.period:1m}") Duration taskWritePeriod,
+            @Value("${taskmanager.rate-limit.login-address.capacity:30}") long loginAddressCapacity,
+            @Value("${taskmanager.rate-limit.login-address.period:1m}") Duration loginAddressPeriod,
+            @Value("${taskmanager.rate-limit.login-username.capacity:10}") long loginUsernameCapacity,
+            @Value("${taskmanager.rate-limit.login-username.period:1m}") Duration loginUsernamePeriod,
+            @Value("${taskmanager.rate-limit.register-address.capacity:10}") long registerAddressCapacity,
+            @Value("${taskmanager.rate-limit.register-address.period:1h}") Duration registerAddressPeriod) {
+        this.rateLimiter = rateLimiter;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.taskReads = new RateLimit("task-reads", taskReadCapacity, taskReadPeriod);
+        this.taskWrites = new RateLimit("task-writes", taskWriteCapacity, taskWritePeriod);
+        this.loginsByAddress = new RateLimit("login-address", loginAddressCapacity, loginAddressPeriod);
+        this.loginsByUsername = new RateLimit("login-username", loginUsernameCapacity, loginUsernamePeriod);
+        this.registrationsByAddress = new RateLimit("register-address", registerAddressCapacity, registerAddressPeriod);
+        for (RateLimit limit : new RateLimit[] { taskReads, taskWrites, loginsByAddress, loginsByUsername, registrationsByAddress }) {
+            rejections(limit); // Registered Up Front So Every Route Shows In Metrics At 0
+        }
+    }
+
+    public void checkTaskRequest(Long userId, boolean write) {
+        RateLimit limit = write ? taskWrites : taskReads;
+        check(limit, limit.name() + ':' + userId);
+    }
+
+    public void checkLogin(String clientAddress, String username) {
+        check(loginsByAddress, loginsByAddress.name() + ':' + clientAddress);
+        if (username != null) {
+            check(loginsByUsername, loginsByUsername.name() + ':' + username);
+        }
+    }
+
+    public void checkRegister(String clientAddress) {
+        check(registrationsByAddress, registrationsByAddress.name() + ':' + clientAddress);
+    }
+
+    private void check(RateLimit limit, String key) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(key, limit);
+        if (waitNanos > 0) {
+            rejections(limit).increment();
+            // Whole seconds for Retry-After, rounded up so a client that waits exactly that long gets in
+            throw new RateLimitExceededException(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    private Counter rejections(RateLimit limit) {
+        return Counter.builder("ratelimit.rejected")
+            .description("Requests turned away with 429 because their bucket was empty")
+            .tag("limit", limit.name())
+            .register(registry);
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.taskmanager.security;
 
+import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,26 +16,54 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Set;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     private final String secretKey = "X7kP9mL2qW4vZ8jR5tY6uI3oP1nM8xQ2wE4rT9yU0sA6hJ3v"; // Same as AuthService
+    private final TokenRevocationStore revocationStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> adminUsernames;
+
+    public SecurityConfig(
+            TokenRevocationStore revocationStore,
+            VerifiedTokenCache verifiedTokenCache,
+            ObjectProvider<MeterRegistry> meterRegistries,
+            @Value("${taskmanager.security.admin-usernames:}") Set<String> adminUsernames) {
+        this.revocationStore = revocationStore;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.meterRegistry = meterRegistries.getIfAvailable(SimpleMeterRegistry::new); // None In Test Slices
+        this.adminUsernames = adminUsernames;
+    }
+
+    // The only encoder in the app; AuthService hashes through it via PasswordHasher
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${taskmanager.security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
 
+    // One parser for the filter and AuthService.logout
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public JwtParser jwtParser() {
+        return JwtFilter.parser(secretKey);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtParser jwtParser) throws Exception {
 
-        JwtFilter jwtFilter = new JwtFilter(secretKey);
+        JwtFilter jwtFilter = new JwtFilter(jwtParser, revocationStore, verifiedTokenCache, meterRegistry, adminUsernames);
 
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Export/SSE Completion, Request Was Already Authorized
                 .requestMatchers("/api/auth/**").permitAll() // Allow Login Endpoints
                 .requestMatchers("/h2-console/**").permitAll() // H2 Console Open
+                .requestMatchers("/health", "/actuator/health/**").permitAll() // Probes Carry No Token
+                .requestMatchers("/api/admin/**").hasRole(JwtFilter.ADMIN_ROLE) // Cache Stats, Other Users' Ids And URIs
+                .requestMatchers("/actuator/**").hasRole(JwtFilter.ADMIN_ROLE) // Prometheus And Metrics Carry The Same Cache Stats
                 .requestMatchers("/api/tasks/**").authenticated() // Tasks Required Token
                 .anyRequest().authenticated() // Any other Endpoints need Authentication
             )
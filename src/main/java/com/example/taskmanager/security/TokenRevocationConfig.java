@@ -0,0 +1,33 @@
+package com.example.taskmanager.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class TokenRevocationConfig {
+
+    private static final String STORE_PROPERTY = "taskmanager.security.revocation.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public InMemoryTokenRevocationStore inMemoryTokenRevocationStore(
+            @Value("${taskmanager.security.revocation.max-entries:100000}") int maxEntries,
+            @Value("${taskmanager.security.revocation.sweep-interval:1m}") Duration sweepInterval) {
+        return new InMemoryTokenRevocationStore(maxEntries, sweepInterval, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "file")
+    public FileTokenRevocationStore fileTokenRevocationStore(
+            @Value("${taskmanager.security.revocation.max-entries:100000}") int maxEntries,
+            @Value("${taskmanager.security.revocation.sweep-interval:1m}") Duration sweepInterval,
+            @Value("${taskmanager.security.revocation.file:data/revoked-tokens.log}") Path file) {
+        return new FileTokenRevocationStore(file, maxEntries, sweepInterval, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.security;
+
+import java.time.Instant;
+
+// Holds logged-out tokens until they would have expired anyway; JwtFilter rejects anything in here
+public interface TokenRevocationStore {
+
+    void revoke(String tokenId, Instant expiresAt);
+
+    boolean isRevoked(String tokenId);
+
+    int size();
+}
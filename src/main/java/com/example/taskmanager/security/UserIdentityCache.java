@@ -0,0 +1,68 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded, TTL-evicting username -> userId map so /api/** requests don't pay a user lookup each time
+@Component
+public class UserIdentityCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "userIdentity";
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> userIds;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            @Value("${taskmanager.identity-cache.maximum-size:10000}") long maximumSize,
+            @Value("${taskmanager.identity-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.userIds = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Long> resolveUserId(String username) {
+        Long cached = userIds.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Looked up outside the cache's compute lock: blocking on a pooled connection while holding
+        // that monitor would pin a virtual thread to its carrier. Two concurrent misses just both query.
+        // If an invalidate() ran meanwhile the id we read may be the one it removed, so it is returned but not cached
+        long invalidationsBefore = invalidations.get();
+        Optional<Long> userId = userRepository.findByUsername(username).map(User::getId);
+        // Unknown usernames are not cached, so a user registered later is picked up straight away
+        if (userId.isPresent() && invalidations.get() == invalidationsBefore) {
+            userIds.put(username, userId.get());
+        }
+        return userId;
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            invalidations.incrementAndGet();
+            userIds.invalidate(username);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userIds, CACHE_NAME);
+    }
+}
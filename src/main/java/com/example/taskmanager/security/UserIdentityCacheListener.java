@@ -0,0 +1,24 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Registered on User so every create/delete (AuthService.register, repository deletes) evicts the cached id.
+// Hibernate builds this through Spring's bean container; the provider keeps it from depending on the
+// EntityManagerFactory that is still being created.
+public class UserIdentityCacheListener {
+
+    private final ObjectProvider<UserIdentityCache> userIdentityCache;
+
+    public UserIdentityCacheListener(ObjectProvider<UserIdentityCache> userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @PostPersist
+    @PostRemove
+    public void evict(User user) {
+        userIdentityCache.ifAvailable(cache -> cache.invalidate(user.getUsername()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanager.security;
+
+// What JwtFilter needs from a token once its signature has been checked
+public record VerifiedToken(String username, Long userId, String revocationKey, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Short-lived token digest -> VerifiedToken map so a client reusing its token skips HMAC verification and
+// JSON parsing. Entries never outlive the token's own exp; revocation is still checked on every request.
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "verifiedTokens";
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(
+            @Value("${taskmanager.security.verified-token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${taskmanager.security.verified-token-cache.ttl:5m}") Duration ttl) {
+        long ttlMillis = ttl.toMillis();
+        long ttlNanos = ttl.toNanos();
+        this.tokens = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                    // Clamp In Millis Before Converting, A Token Without exp Expires At Long.MAX_VALUE
+                    long untilExpiryMillis = Math.min(token.expiresAtMillis() - System.currentTimeMillis(), ttlMillis);
+                    return Math.max(0, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(untilExpiryMillis)));
+                }
+
+                @Override
+                public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                    return expireAfterCreate(digest, token, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+    }
+
+    public VerifiedToken getIfPresent(String tokenDigest) {
+        return tokens.getIfPresent(tokenDigest);
+    }
+
+    public void put(String tokenDigest, VerifiedToken token) {
+        tokens.put(tokenDigest, token);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokens, CACHE_NAME);
+    }
+}
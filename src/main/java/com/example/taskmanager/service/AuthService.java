@@ -2,10 +2,18 @@ package com.example.taskmanager.service;
 
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.example.taskmanager.security.JwtFilter;
+import com.example.taskmanager.security.PasswordHasher;
+import com.example.taskmanager.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
@@ -15,15 +23,22 @@ import java.security.Key;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final TokenRevocationStore revocationStore;
     private final Key signingKey;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final JwtParser parser;
+    private final PasswordHasher passwordHasher;
 
-    public AuthService(UserRepository userRepository) {
+    // parser is the JwtFilter's, verifying against the same secret
+    public AuthService(
+            UserRepository userRepository, TokenRevocationStore revocationStore, PasswordHasher passwordHasher,
+            JwtParser parser) {
         this.userRepository = userRepository;
+        this.revocationStore = revocationStore;
+        this.passwordHasher = passwordHasher;
+        this.parser = parser;
 
         final String SECRET_KEY = "X7kP9mL2qW4vZ8jR5tY6uI3oP1nM8xQ2wE4rT9yU0sA6hJ3v";
         this.signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-        this.passwordEncoder = new BCryptPasswordEncoder(); // Add Encoder
     }
 
     public void register(String username, String password){
@@ -32,24 +47,49 @@ public class AuthService {
         }
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password)); // Hash Password
-        userRepository.save(user);
+        user.setPassword(passwordHasher.encode(password)); // Hash Password, 429 If The Hashing Queue Is Full
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) { // Lost A Concurrent Register Race On The Unique Username Index
+            throw new IllegalArgumentException("Username Already Exists");
+        }
     }
 
     public String login(String username, String password){
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("User Not Found"));
-        if(!passwordEncoder.matches(password, user.getPassword())){
+        if(!passwordHasher.matches(password, user.getPassword())){
             throw new RuntimeException("Invalid Credentials");
         }
+        if(passwordHasher.needsRehash(user.getPassword())){ // Cost Factor Was Raised Since This Hash Was Made
+            user.setPassword(passwordHasher.encode(password));
+            userRepository.save(user);
+        }
 
-        String token = generateToken(username);
+        String token = generateToken(user);
         return token;
     }
 
-    private String generateToken(String username){
+    public void logout(String token){
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return; // Expired Or Invalid Tokens Are Already Unusable
+        }
+        // Only Needs Remembering Until It Would Have Expired; No exp Never Expires, As In JwtFilter
+        Instant expiresAt = claims.getExpiration() != null
+            ? claims.getExpiration().toInstant()
+            : Instant.ofEpochMilli(Long.MAX_VALUE);
+        revocationStore.revoke(JwtFilter.revocationKey(claims, token), expiresAt);
+    }
+
+    // Public for AuthServiceBenchmark; login() is the only caller in the app
+    public String generateToken(User user){
             return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString()) // jti, What Logout Revokes
+                .setSubject(user.getUsername())
+                .claim(JwtFilter.USER_ID_CLAIM, user.getId()) // Lets UserIdInterceptor Skip The User Lookup
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // Expire In 1 Hour
                 .signWith(signingKey) // New way: Use the Key Object
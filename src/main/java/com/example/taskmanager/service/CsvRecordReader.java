@@ -0,0 +1,95 @@
+package com.example.taskmanager.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pulls one RFC 4180 record at a time off a Reader, so a file is never held in memory whole.
+// Quoted fields may span lines; line() is where the record last returned started.
+class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushedBack = NONE;
+    private long nextLine = 1;
+    private long line;
+    private boolean unterminatedQuote;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Null at end of input
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        if (nextLine == 1 && c == '\uFEFF') {
+            c = read(); // Byte Order Mark From Spreadsheet Exports
+        }
+        line = nextLine;
+        unterminatedQuote = false;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                } else {
+                    if (c == '\n') {
+                        nextLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    nextLine++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    long line() {
+        return line;
+    }
+
+    // True when the last record hit end of input inside a quoted field
+    boolean unterminatedQuote() {
+        return unterminatedQuote;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
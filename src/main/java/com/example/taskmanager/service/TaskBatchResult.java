@@ -0,0 +1,19 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome for one item of a bulk request; task is only filled in for creates
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBatchResult(Long id, Status status, Task task) {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, FORBIDDEN }
+
+    static TaskBatchResult created(Task task) {
+        return new TaskBatchResult(task.getId(), Status.CREATED, task);
+    }
+
+    static TaskBatchResult of(Long id, Status status) {
+        return new TaskBatchResult(id, status, null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through cache in front of TaskRepository: single tasks by id, and list pages per user. A write bumps the
+// owner's TaskVersions entry, which is part of every page key, so all of that user's cached pages stop matching at once.
+// Cached values are private copies; callers always get their own Task instances to modify.
+@Component
+public class TaskCache implements MeterBinder {
+
+    public static final String TASKS_CACHE_NAME = "tasks";
+    public static final String PAGES_CACHE_NAME = "taskPages";
+
+    private final Cache<Long, Task> tasksById;
+    private final Cache<PageKey, TaskSlice> pages;
+    private final TaskVersions taskVersions;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TaskCache(
+            TaskVersions taskVersions,
+            @Value("${taskmanager.task-cache.maximum-size:10000}") long maximumSize,
+            @Value("${taskmanager.task-cache.page-maximum-size:2000}") long pageMaximumSize,
+            @Value("${taskmanager.task-cache.ttl:10m}") Duration ttl) {
+        this.taskVersions = taskVersions;
+        this.tasksById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.pages = Caffeine.newBuilder()
+            .maximumSize(pageMaximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Task> getTask(Long id, Supplier<Optional<Task>> loader) {
+        Task cached = tasksById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        // Loaded outside the cache lock (see UserIdentityCache); if a write committed meanwhile the row we read
+        // may already be stale, so it is returned but not cached
+        long invalidationsBefore = invalidations.get();
+        Optional<Task> loaded = loader.get();
+        if (loaded.isPresent() && invalidations.get() == invalidationsBefore) {
+            tasksById.put(id, copy(loaded.get()));
+        }
+        return loaded;
+    }
+
+    public TaskSlice getPage(Long userId, Boolean completed, boolean byTitle, String cursor, int size, Supplier<TaskSlice> loader) {
+        // A write racing this load bumps the version, so a stale page lands under a key nobody asks for again
+        PageKey key = new PageKey(userId, taskVersions.current(userId), completed, byTitle, cursor, size);
+        TaskSlice cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return copy(cached);
+        }
+        TaskSlice loaded = loader.get();
+        pages.put(key, copy(loaded));
+        return loaded;
+    }
+
+    // Version goes up last: anyone who sees the new version (e.g. to build an ETag) can no longer get a stale entry
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidations.incrementAndGet();
+        tasksById.invalidateAll(event.taskIds());
+        taskVersions.bump(event.userId());
+    }
+
+    private static TaskSlice copy(TaskSlice slice) {
+        return new TaskSlice(slice.content().stream().map(TaskCache::copy).toList(), slice.nextCursor(), slice.hasNext());
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCompleted(task.isCompleted());
+        copy.setCompletedAt(task.getCompletedAt());
+        copy.setUserId(task.getUserId());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tasksById, TASKS_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(registry, pages, PAGES_CACHE_NAME);
+    }
+
+    private record PageKey(Long userId, long version, Boolean completed, boolean byTitle, String cursor, int size) {
+    }
+}
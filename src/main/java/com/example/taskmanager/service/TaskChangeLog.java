@@ -0,0 +1,132 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.ChangeHistoryExpiredException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.TaskChangeHorizon;
+import com.example.taskmanager.repository.TaskChangeHorizonRepository;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Append-only per-user log of task writes, read back by delta sync. Each row only says which task changed;
+// the task's current state is joined in at read time, so older rows for the same task carry nothing new and
+// compaction drops them. Tombstones are kept for tombstone-retention, after which a client that far behind
+// gets 410 and has to resync from the full list.
+@Service
+public class TaskChangeLog {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeHorizonRepository horizonRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final Duration tombstoneRetention;
+    private final Clock clock;
+
+    public TaskChangeLog(
+            TaskChangeRepository taskChangeRepository,
+            TaskChangeHorizonRepository horizonRepository,
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            @Value("${taskmanager.change-log.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.horizonRepository = horizonRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.tombstoneRetention = tombstoneRetention;
+        this.clock = Clock.systemUTC();
+    }
+
+    // Joins the caller's transaction, so the log row commits or rolls back with the write it describes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, TaskChange.Type type, Collection<Long> taskIds) {
+        // Serialize this user's writers until commit: a "since" cursor is only safe if ids become visible in order
+        userRepository.lockById(userId);
+        Instant now = clock.instant();
+        List<TaskChange> changes = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            changes.add(new TaskChange(userId, taskId, type, now));
+        }
+        taskChangeRepository.saveAll(changes);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChanges changesSince(long since, Integer size, Long userId) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // since=0 is a first sync with nothing to delete locally, purged tombstones don't matter to it
+        if (since > 0) {
+            horizonRepository.findById(userId)
+                .filter(horizon -> since < horizon.getHorizon())
+                .ifPresent(horizon -> {
+                    throw new ChangeHistoryExpiredException(since);
+                });
+        }
+
+        List<TaskChange> rows = taskChangeRepository.findByUserIdAndIdGreaterThanOrderById(
+            userId, since, Limit.of(pageSize + 1)); // One Extra Row Tells Us If There Is More
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskChange> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Long> liveIds = page.stream()
+            .filter(change -> change.getType() != TaskChange.Type.DELETED)
+            .map(TaskChange::getTaskId)
+            .toList();
+        Map<Long, Task> tasksById = taskRepository.findAllById(liveIds).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskChanges.Entry> entries = new ArrayList<>(page.size());
+        for (TaskChange change : page) {
+            Task task = tasksById.get(change.getTaskId());
+            // Deleted after this row was written; its own tombstone comes later, but say so now
+            TaskChange.Type type = task == null ? TaskChange.Type.DELETED : change.getType();
+            entries.add(new TaskChanges.Entry(change.getId(), change.getTaskId(), type, task));
+        }
+        long nextSince = page.isEmpty() ? since : page.get(page.size() - 1).getId();
+        return new TaskChanges(entries, nextSince, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public long latestChangeId(Long userId) {
+        return taskChangeRepository.findLatestIdByUserId(userId);
+    }
+
+    @Scheduled(
+        initialDelayString = "${taskmanager.change-log.compaction-interval:1h}",
+        fixedDelayString = "${taskmanager.change-log.compaction-interval:1h}")
+    @Transactional
+    public void compact() {
+        taskChangeRepository.deleteSuperseded();
+
+        Instant cutoff = clock.instant().minus(tombstoneRetention);
+        for (TaskChangeRepository.PurgedTombstones purged : taskChangeRepository.findTombstoneRangesOlderThan(cutoff)) {
+            long horizon = horizonRepository.findById(purged.getUserId())
+                .map(existing -> Math.max(existing.getHorizon(), purged.getLastId()))
+                .orElse(purged.getLastId());
+            horizonRepository.save(new TaskChangeHorizon(purged.getUserId(), horizon));
+        }
+        taskChangeRepository.deleteTombstonesOlderThan(cutoff);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published by TaskServiceImpl for every committed write; listeners that use AFTER_COMMIT never see rolled-back changes.
+// tasks carries the written state for creates and edits, so listeners that need the text don't read it back; each
+// Task's @Version orders it against other events for the same task, as after-commit listeners can run out of order.
+public record TaskChangedEvent(Long userId, TaskChange.Type type, Collection<Long> taskIds, Collection<Task> tasks) {
+
+    public TaskChangedEvent(Long userId, TaskChange.Type type, Collection<Long> taskIds) {
+        this(userId, type, taskIds, List.of());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// One page of GET /api/tasks/changes; send nextSince back as since for the next page or the next sync
+public record TaskChanges(List<Entry> changes, long nextSince, boolean hasMore) {
+
+    // task is the current state of the task, absent for DELETED
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(long seq, Long taskId, TaskChange.Type type, Task task) {
+    }
+}
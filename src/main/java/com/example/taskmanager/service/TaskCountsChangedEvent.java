@@ -0,0 +1,14 @@
+package com.example.taskmanager.service;
+
+import java.time.Instant;
+import java.util.List;
+
+// How a write moved one user's task counts, published alongside its TaskChangedEvent. completedDelta > 0 are tasks
+// completed by this write (now); < 0 are completions taken back by a reopen or a delete, and completionsTakenBack
+// holds their former completedAt so the right day can be decremented.
+public record TaskCountsChangedEvent(Long userId, long totalDelta, long completedDelta, List<Instant> completionsTakenBack) {
+
+    public TaskCountsChangedEvent(Long userId, long totalDelta, long completedDelta) {
+        this(userId, totalDelta, completedDelta, List.of());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position: the (title, id) or (id) of the last task a client has already seen
+record TaskCursor(boolean byTitle, long id, String title) {
+
+    private static final String ID_PREFIX = "id";
+    private static final String TITLE_PREFIX = "title";
+
+    static TaskCursor after(Task task, boolean byTitle) {
+        return new TaskCursor(byTitle, task.getId(), task.getTitle());
+    }
+
+    static TaskCursor after(TaskSummary summary, boolean byTitle) {
+        return new TaskCursor(byTitle, summary.id(), summary.title());
+    }
+
+    String encode() {
+        String raw;
+        if (!byTitle) {
+            raw = ID_PREFIX + ":" + id;
+        } else if (title == null) {
+            raw = TITLE_PREFIX + ":" + id; // Two Parts Means A Null Title
+        } else {
+            raw = TITLE_PREFIX + ":" + id + ":" + title;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor, boolean byTitle) {
+        String[] parts;
+        long id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            id = Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) { // Bad Base64 Or Bad Id
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String expectedPrefix = byTitle ? TITLE_PREFIX : ID_PREFIX;
+        if (!expectedPrefix.equals(parts[0]) || (!byTitle && parts.length > 2)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        return new TaskCursor(byTitle, id, parts.length == 3 ? parts[2] : null);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.ChangeHistoryExpiredException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes each user's task change log to their open SSE connections. The event id is the change log seq, so a
+// reconnecting client's Last-Event-ID is a delta sync cursor. One dispatcher thread reads the log once per commit
+// per user and fans out; each subscriber has its own bounded buffer and is dropped when it fills, so a slow reader
+// only costs itself a reconnect and never holds up the writer or the other subscribers. A batch that can't fit in
+// a subscriber's buffer is sent as a single resync event instead.
+@Component
+public class TaskEventStream implements AutoCloseable {
+
+    public static final String TASK_EVENT = "task";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final TaskChangeLog taskChangeLog;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final Counter dropped;
+
+    public TaskEventStream(
+            TaskChangeLog taskChangeLog,
+            MeterRegistry registry,
+            @Value("${taskmanager.events.buffer-size:256}") int bufferSize,
+            @Value("${taskmanager.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${taskmanager.events.timeout:30m}") Duration timeout,
+            @Value("${taskmanager.events.sender-threads:2}") int senderThreads) {
+        this.taskChangeLog = taskChangeLog;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        this.dropped = Counter.builder("task.events.dropped")
+            .description("SSE subscribers disconnected because their buffer filled up")
+            .register(registry);
+        Gauge.builder("task.events.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open SSE connections receiving task events")
+            .register(registry);
+    }
+
+    // lastEventId is the seq of the last event the client saw, null for a fresh connection that starts from now
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // Registered before the replay is queued, so any commit from here on also queues a broadcast behind it
+        channels.compute(userId, (id, channel) -> {
+            Channel target = channel == null ? new Channel() : channel;
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+        dispatcher.execute(() -> start(subscriber, lastEventId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Channel channel = channels.get(event.userId());
+        // Writes that land while a broadcast is already queued are picked up by it, one log read covers them all
+        if (channel != null && channel.broadcastPending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> broadcast(event.userId()));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Dispatcher thread only: replays what the client missed, then lets live broadcasts through
+    private void start(Subscriber subscriber, Long lastEventId) {
+        Channel channel = channels.get(subscriber.userId);
+        if (channel == null || !channel.subscribers.contains(subscriber)) {
+            return; // Gone Before It Started
+        }
+        if (channel.cursor < 0) {
+            channel.cursor = taskChangeLog.latestChangeId(subscriber.userId);
+        }
+        subscriber.lastSeq = channel.cursor;
+
+        if (lastEventId != null) {
+            try {
+                // A backlog that doesn't fit the buffer is the client's job to page through /changes
+                TaskChanges missed = taskChangeLog.changesSince(lastEventId, bufferSize, subscriber.userId);
+                if (missed.hasMore()) {
+                    subscriber.enqueue(resync(new Resync(lastEventId), channel.cursor));
+                } else {
+                    missed.changes().forEach(entry -> subscriber.enqueue(taskEvent(entry)));
+                    subscriber.lastSeq = Math.max(channel.cursor, missed.nextSince());
+                }
+            } catch (ChangeHistoryExpiredException e) {
+                subscriber.enqueue(resync(new Resync(null), channel.cursor));
+            }
+        }
+        subscriber.ready = true;
+    }
+
+    // Dispatcher thread only
+    private void broadcast(Long userId) {
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        channel.broadcastPending.set(false);
+        if (channel.cursor < 0) {
+            return; // The First Subscriber's start() Reads The Cursor And Everything Up To It
+        }
+
+        Set<Subscriber> resynced = new HashSet<>();
+        TaskChanges changes;
+        do {
+            try {
+                changes = taskChangeLog.changesSince(channel.cursor, TaskChangeLog.MAX_PAGE_SIZE, userId);
+            } catch (ChangeHistoryExpiredException e) {
+                channel.cursor = taskChangeLog.latestChangeId(userId);
+                return;
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                if (!subscriber.ready) {
+                    continue;
+                }
+                if (!resynced.contains(subscriber)) {
+                    long since = subscriber.lastSeq;
+                    List<TaskChanges.Entry> pending = changes.changes().stream()
+                        .filter(entry -> entry.seq() > since)
+                        .toList();
+                    // A batch bigger than the room left in the buffer goes out as one resync rather than dropping a
+                    // subscriber that is keeping up; it skips the rest of this broadcast and pages /changes instead
+                    if (pending.size() > subscriber.buffer.remainingCapacity()) {
+                        subscriber.enqueue(resync(new Resync(since), changes.nextSince()));
+                        resynced.add(subscriber);
+                    } else {
+                        for (TaskChanges.Entry entry : pending) {
+                            if (!subscriber.enqueue(taskEvent(entry))) {
+                                break;
+                            }
+                        }
+                    }
+                }
+                subscriber.lastSeq = Math.max(subscriber.lastSeq, changes.nextSince());
+            }
+            channel.cursor = changes.nextSince();
+        } while (changes.hasMore());
+    }
+
+    // Keeps idle connections from being cut by proxies, and notices clients that went away without closing
+    private void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        channels.computeIfPresent(subscriber.userId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private static SseEmitter.SseEventBuilder taskEvent(TaskChanges.Entry entry) {
+        return SseEmitter.event()
+            .id(Long.toString(entry.seq()))
+            .name(TASK_EVENT)
+            .data(entry, MediaType.APPLICATION_JSON);
+    }
+
+    // Carries the live cursor as its id, so a reconnect after the client has caught up resumes from there
+    private static SseEmitter.SseEventBuilder resync(Resync resync, long cursor) {
+        return SseEmitter.event()
+            .id(Long.toString(cursor))
+            .name(RESYNC_EVENT)
+            .data(resync, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    // since is where to page GET /api/tasks/changes from; absent when that history is gone and a full reload is needed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Resync(Long since) {
+    }
+
+    private static class Channel {
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicBoolean broadcastPending = new AtomicBoolean();
+        private volatile long cursor = -1; // Highest Seq Broadcast So Far, -1 Until First Read
+    }
+
+    private class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastSeq;
+        private volatile boolean ready;
+
+        Subscriber(Long userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> buffer) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        // False once the subscriber has been dropped; it reconnects with Last-Event-ID and replays from the log
+        boolean enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return false;
+            }
+            if (!buffer.offer(event)) {
+                dropped.increment();
+                unsubscribe(this);
+                emitter.complete();
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this); // Client Went Away Or Emitter Already Completed
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was cleared would otherwise sit there
+            if (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes every task of a user straight from a database cursor to the response, one row at a time. Each row is
+// detached once written, so the persistence context never holds more than one task and heap use does not
+// grow with the size of the export.
+@Service
+public class TaskExporter {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TaskExporter(TaskRepository taskRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // The output stream is the caller's to close; returns the number of tasks written
+    @Transactional(readOnly = true)
+    public long export(Long userId, TaskFileFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        RowWriter rows = format == TaskFileFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamByUserIdOrderById(userId)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                rows.write(task);
+                entityManager.detach(task); // Written, So Let It Be Garbage Collected
+                count++;
+            }
+        }
+        rows.finish();
+        writer.flush();
+        return count;
+    }
+
+    private interface RowWriter {
+        void write(Task task) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    // One JSON object per line, the same shape GET /api/tasks returns for each task
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final SequenceWriter sequence;
+        private boolean empty = true;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.sequence = objectMapper.writerFor(Task.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        }
+
+        @Override
+        public void write(Task task) throws IOException {
+            sequence.write(task);
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequence.close(); // Flushes The Generator, Leaves The Writer Open
+            if (!empty) {
+                writer.write('\n');
+            }
+        }
+    }
+
+    // RFC 4180: fields holding a comma, quote or line break are quoted, with quotes doubled
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,title,description,completed\r\n");
+        }
+
+        @Override
+        public void write(Task task) throws IOException {
+            writer.write(Long.toString(task.getId()));
+            writer.write(',');
+            writeField(task.getTitle());
+            writer.write(',');
+            writeField(task.getDescription());
+            writer.write(',');
+            writer.write(Boolean.toString(task.isCompleted()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Progress or outcome of an import. jobId is only set for async imports, failure only once one has failed.
+// errors holds the first rejected lines; rejected counts all of them.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskImportStatus(
+        String jobId,
+        State state,
+        long imported,
+        long rejected,
+        List<LineError> errors,
+        String failure) {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record LineError(long line, String message) {
+    }
+}
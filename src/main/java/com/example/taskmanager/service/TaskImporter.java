@@ -0,0 +1,445 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.ImportCapacityExceededException;
+import com.example.taskmanager.exception.ImportJobNotFoundException;
+import com.example.taskmanager.exception.ImportTooLargeException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bulk import for onboarding. Rows are parsed one at a time off the body, bad rows are reported by line and
+// skipped, and good ones are inserted chunk-size at a time: one transaction, batched INSERTs and one change log
+// write per chunk, then the persistence context is cleared so memory stays flat however long the file is.
+// Chunks already committed stay in if a later one fails. Bodies are capped at max-bytes, and each user may only
+// have a few async imports queued or running, so no one user can fill the disk or the job queue.
+@Service
+public class TaskImporter implements AutoCloseable {
+
+    private static final int MAX_FIELD_LENGTH = 255; // VARCHAR(255) In V1
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeLog taskChangeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader taskReader;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long maxBytes;
+    private final int maxJobsPerUser;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, ImportJob> jobs;
+    private final ConcurrentHashMap<Long, Integer> activeJobsByUser = new ConcurrentHashMap<>();
+
+    public TaskImporter(
+            TaskRepository taskRepository,
+            TaskChangeLog taskChangeLog,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ObjectProvider<Clock> clocks,
+            @Value("${taskmanager.import.chunk-size:500}") int chunkSize,
+            @Value("${taskmanager.import.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${taskmanager.import.max-bytes:50MB}") DataSize maxBytes,
+            @Value("${taskmanager.import.max-jobs-per-user:2}") int maxJobsPerUser,
+            @Value("${taskmanager.import.job-threads:1}") int jobThreads,
+            @Value("${taskmanager.import.job-queue-capacity:10}") int jobQueueCapacity,
+            @Value("${taskmanager.import.job-retention:1h}") Duration jobRetention) {
+        this.taskRepository = taskRepository;
+        this.taskChangeLog = taskChangeLog;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskReader = objectMapper.readerFor(Task.class);
+        this.clock = clocks.getIfAvailable(Clock::systemUTC); // Tests Supply A Fixed One
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxBytes = maxBytes.toBytes();
+        this.maxJobsPerUser = maxJobsPerUser;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(jobThreads, jobThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(jobQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "task-import-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+            .expireAfterWrite(jobRetention)
+            .build();
+    }
+
+    // Runs on the caller's thread, reading straight off the request body
+    public TaskImportStatus importTasks(Long userId, TaskFileFormat format, InputStream body) throws IOException {
+        ImportJob job = new ImportJob(null, userId);
+        RowSource rows = open(format, limit(body)); // A Bad CSV Header Is A 400, Nothing Has Been Written Yet
+        try {
+            run(job, rows);
+        } catch (ImportTooLargeException e) {
+            throw e; // A 413 Like A Content-Length Over The Cap; Chunks Already Read Stay Committed
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage()); // Chunks Before This One Are Committed, The Status Says How Many
+        }
+        return job.status();
+    }
+
+    // The body is spooled to a temp file first, since the request (and its stream) ends before the job does
+    public TaskImportStatus startImport(Long userId, TaskFileFormat format, InputStream body) throws IOException {
+        acquireJobSlot(userId); // Before Spooling, So A User Over The Cap Writes Nothing To Disk
+        Path spool;
+        try {
+            spool = Files.createTempFile("task-import-", "." + format.extension());
+        } catch (IOException | RuntimeException e) {
+            releaseJobSlot(userId);
+            throw e;
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId);
+        try {
+            Files.copy(limit(body), spool, StandardCopyOption.REPLACE_EXISTING); // Stops At max-bytes
+            jobs.put(job.id, job);
+            executor.execute(() -> runSpooled(job, format, spool));
+            return job.status();
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            Files.deleteIfExists(spool);
+            releaseJobSlot(userId);
+            throw new ImportCapacityExceededException();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            releaseJobSlot(userId);
+            throw e;
+        }
+    }
+
+    // A Content-Length over the cap is refused before anything is read; chunked bodies are cut off by limit()
+    public void checkSize(long contentLength) {
+        if (contentLength > maxBytes) {
+            throw new ImportTooLargeException(maxBytes);
+        }
+    }
+
+    private void acquireJobSlot(Long userId) {
+        boolean[] acquired = new boolean[1];
+        activeJobsByUser.compute(userId, (id, active) -> {
+            int current = active == null ? 0 : active;
+            acquired[0] = current < maxJobsPerUser;
+            return acquired[0] ? current + 1 : active;
+        });
+        if (!acquired[0]) {
+            throw new ImportCapacityExceededException();
+        }
+    }
+
+    private void releaseJobSlot(Long userId) {
+        activeJobsByUser.computeIfPresent(userId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private InputStream limit(InputStream body) {
+        return new LimitedInputStream(body, maxBytes);
+    }
+
+    public TaskImportStatus getImport(String jobId, Long userId) {
+        ImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ImportJobNotFoundException(jobId); // Someone Else's Job Looks The Same As No Job
+        }
+        return job.status();
+    }
+
+    private void runSpooled(ImportJob job, TaskFileFormat format, Path spool) {
+        try (InputStream in = Files.newInputStream(spool)) {
+            run(job, open(format, in));
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage());
+        } finally {
+            releaseJobSlot(job.userId);
+            jobs.put(job.id, job); // Restarts Retention From When It Finished
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ignored) {
+                // Temp Directory Cleanup Gets It
+            }
+        }
+    }
+
+    private RowSource open(TaskFileFormat format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return format == TaskFileFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+    }
+
+    private void run(ImportJob job, RowSource rows) throws IOException {
+        job.state = TaskImportStatus.State.RUNNING;
+        List<Task> chunk = new ArrayList<>(chunkSize);
+        Row row;
+        while ((row = rows.next()) != null) {
+            String error = row.error() != null ? row.error() : validate(row.task());
+            if (error != null) {
+                job.reject(row.line(), error);
+                continue;
+            }
+            row.task().setUserId(job.userId);
+            chunk.add(row.task());
+            if (chunk.size() == chunkSize) {
+                insert(job, chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(job, chunk);
+        }
+        job.state = TaskImportStatus.State.COMPLETED;
+    }
+
+    private void insert(ImportJob job, List<Task> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Task> saved = taskRepository.saveAll(chunk);
+            List<Long> ids = saved.stream().map(Task::getId).toList();
+            taskChangeLog.record(job.userId, TaskChange.Type.CREATED, ids);
+            eventPublisher.publishEvent(new TaskChangedEvent(job.userId, TaskChange.Type.CREATED, ids, List.copyOf(saved)));
+            eventPublisher.publishEvent(new TaskCountsChangedEvent(
+                job.userId, saved.size(), saved.stream().filter(Task::isCompleted).count()));
+            entityManager.flush();
+            entityManager.clear(); // Nothing From This Chunk Outlives It
+        });
+        job.imported += chunk.size();
+        chunk.clear();
+        if (job.id != null) {
+            jobs.put(job.id, job); // Keeps A Long Running Job From Expiring Mid-Import
+        }
+    }
+
+    private static String validate(Task task) {
+        if (task.getTitle() == null || task.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (task.getTitle().length() > MAX_FIELD_LENGTH) {
+            return "title is longer than " + MAX_FIELD_LENGTH + " characters";
+        }
+        if (task.getDescription() != null && task.getDescription().length() > MAX_FIELD_LENGTH) {
+            return "description is longer than " + MAX_FIELD_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    // Only title, description and completed are taken from a row; ids, owner and version are always the server's
+    private Task newTask(String title, String description, boolean completed) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCompleted(completed);
+        task.setCompletedAt(completed ? clock.instant() : null); // The Real Completion Day Isn't In The File
+        return task;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Row(long line, Task task, String error) {
+    }
+
+    // Throws ImportTooLargeException as soon as more than maxBytes have been read
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long bytes) {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new ImportTooLargeException(maxBytes);
+            }
+        }
+    }
+
+    private interface RowSource {
+        // Null at end of input
+        Row next() throws IOException;
+    }
+
+    private class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                Task parsed = taskReader.readValue(text);
+                if (parsed == null) {
+                    return new Row(line, null, "expected a JSON object");
+                }
+                return new Row(line, newTask(parsed.getTitle(), parsed.getDescription(), parsed.isCompleted()), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Columns are found by header name, so the id column of an export is simply ignored
+    private class CsvRowSource implements RowSource {
+        private final CsvRecordReader reader;
+        private final int titleColumn;
+        private final int descriptionColumn;
+        private final int completedColumn;
+
+        CsvRowSource(BufferedReader in) throws IOException {
+            this.reader = new CsvRecordReader(in);
+            List<String> header = reader.next();
+            List<String> columns = header == null ? List.of() : header.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+            this.titleColumn = columns.indexOf("title");
+            this.descriptionColumn = columns.indexOf("description");
+            this.completedColumn = columns.indexOf("completed");
+            if (titleColumn < 0) {
+                throw new IllegalArgumentException("CSV header must have a title column");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> fields;
+            do {
+                fields = reader.next();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            if (fields == null) {
+                return null;
+            }
+            long line = reader.line();
+            if (reader.unterminatedQuote()) {
+                return new Row(line, null, "quoted field is never closed");
+            }
+            String completed = field(fields, completedColumn);
+            if (completed != null && !completed.isBlank()
+                    && !completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+                return new Row(line, null, "completed must be true or false");
+            }
+            String description = field(fields, descriptionColumn);
+            return new Row(line, newTask(
+                field(fields, titleColumn),
+                description == null || description.isEmpty() ? null : description,
+                Boolean.parseBoolean(completed)), null);
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column) : null;
+        }
+    }
+
+    // Written by one thread (the request or the job worker), read by anyone polling its status
+    private class ImportJob {
+        private final String id;
+        private final Long userId;
+        private final List<TaskImportStatus.LineError> errors = new ArrayList<>();
+        private volatile TaskImportStatus.State state = TaskImportStatus.State.QUEUED;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile String failure;
+
+        ImportJob(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new TaskImportStatus.LineError(line, message));
+                }
+            }
+        }
+
+        void fail(String message) {
+            failure = message;
+            state = TaskImportStatus.State.FAILED;
+        }
+
+        TaskImportStatus status() {
+            List<TaskImportStatus.LineError> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new TaskImportStatus(id, state, imported, rejected, reported, failure);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-memory inverted index over task titles and descriptions, one per user so a search only ever touches the
+// caller's own terms. Terms sit in a sorted map, which makes a prefix a range scan. Kept current from committed
+// TaskChangedEvents and rebuilt from the database on startup, before the web server takes requests. Each task is
+// indexed with its @Version, so a change listener that runs late can't put back older text.
+@Component
+public class TaskSearchIndex implements SmartLifecycle {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final int EXACT_MATCH_FACTOR = 2; // "report" Outranks "reporting" For q=report
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long TOMBSTONE_TTL_NANOS = TimeUnit.MINUTES.toNanos(10); // Far Longer Than A Listener Lags
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile Indexes live = new Indexes();
+    private volatile Indexes building; // Set While rebuild() Runs, Which Then Swaps It In
+    private final Timer searchTimer;
+    private volatile boolean running;
+
+    public TaskSearchIndex(
+            TaskRepository taskRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchTimer = Timer.builder("task.search")
+            .description("Time to match and rank a search query against the caller's index")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        Gauge.builder("task.search.index.tasks", this, searchIndex -> searchIndex.live.tasks.get())
+            .description("Tasks in the search index")
+            .register(registry);
+    }
+
+    public record Hit(long taskId, int score) {
+    }
+
+    // Every query term has to match, each as a prefix of some indexed term; best score first, newest first on ties
+    public List<Hit> search(Long userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        return searchTimer.record(() -> {
+            UserIndex index = live.byUserId.get(userId);
+            if (index == null) {
+                return List.<Hit>of();
+            }
+            Map<Long, Integer> scores;
+            index.lock.readLock().lock();
+            try {
+                scores = index.match(terms.get(0));
+                for (int i = 1; i < terms.size() && !scores.isEmpty(); i++) {
+                    Map<Long, Integer> next = index.match(terms.get(i));
+                    scores.keySet().retainAll(next.keySet());
+                    scores.replaceAll((taskId, score) -> score + next.get(taskId));
+                }
+            } finally {
+                index.lock.readLock().unlock();
+            }
+            return scores.entrySet().stream()
+                .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(Hit::score).reversed()
+                    .thenComparing(Comparator.comparingLong(Hit::taskId).reversed()))
+                .limit(limit)
+                .toList();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> event.tasks().forEach(this::index);
+            case DELETED -> remove(event.userId(), event.taskIds());
+            case STATUS_CHANGED -> { } // Text Unchanged
+        }
+    }
+
+    // Adds the task, or replaces what was indexed for it before; ignored if a newer version is indexed already
+    public void index(Task task) {
+        forEachIndexes(indexes -> index(indexes, task));
+    }
+
+    public void remove(Long userId, Collection<Long> taskIds) {
+        forEachIndexes(indexes -> indexes.remove(userId, taskIds));
+    }
+
+    // Builds a fresh index while searches keep using the current one. Changes committed meanwhile go to both, and
+    // the version check keeps a row the rebuild read before such a change from overwriting it
+    public void rebuild() {
+        Indexes next = new Indexes();
+        building = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Task> tasks = taskRepository.streamAllOrderById()) {
+                    Iterator<Task> iterator = tasks.iterator();
+                    while (iterator.hasNext()) {
+                        Task task = iterator.next();
+                        index(next, task);
+                        entityManager.detach(task);
+                    }
+                }
+            });
+            live = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    private void index(Indexes indexes, Task task) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(task.getTitle()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(task.getDescription()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        indexes.index(task.getUserId(), task.getId(), task.getVersion() == null ? 0 : task.getVersion(), weights);
+    }
+
+    // building is read before live, so a change that misses the rebuild's stream always reaches the swapped-in index
+    private void forEachIndexes(Consumer<Indexes> change) {
+        Indexes next = building;
+        Indexes current = live;
+        change.accept(current);
+        if (next != null && next != current) {
+            change.accept(next);
+        }
+    }
+
+    // Lowercased, accents stripped, split on anything that isn't a letter or digit
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Runs in the lifecycle phase before the embedded web server starts, so no search sees a half-built index
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // Every user's index plus the task count for the gauge; rebuild() fills a new one and swaps it in whole
+    private static class Indexes {
+        private final ConcurrentHashMap<Long, UserIndex> byUserId = new ConcurrentHashMap<>();
+        private final AtomicLong tasks = new AtomicLong();
+
+        void index(Long userId, Long taskId, long version, Map<String, Integer> weights) {
+            UserIndex index = byUserId.computeIfAbsent(userId, id -> new UserIndex());
+            index.lock.writeLock().lock();
+            try {
+                if (index.deletedAt.containsKey(taskId) || version < index.versions.getOrDefault(taskId, -1L)) {
+                    return; // A Late Listener, Or A Row Read Before The Change That Is Already Here
+                }
+                if (index.unlink(taskId) == null) {
+                    tasks.incrementAndGet();
+                }
+                index.link(taskId, version, weights);
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        }
+
+        // Remembers the ids for a while, so an older create or edit applied after the delete doesn't bring them back
+        void remove(Long userId, Collection<Long> taskIds) {
+            UserIndex index = byUserId.computeIfAbsent(userId, id -> new UserIndex());
+            index.lock.writeLock().lock();
+            try {
+                long now = System.nanoTime();
+                index.pruneTombstones(now);
+                for (Long taskId : taskIds) {
+                    if (index.unlink(taskId) != null) {
+                        tasks.decrementAndGet();
+                    }
+                    index.deletedAt.put(taskId, now);
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Guarded by lock: postings for lookups, termsByTask to find a task's postings again when it changes, versions
+    // and deletedAt (oldest first) to ignore changes older than what is indexed
+    private static class UserIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Map<String, Integer>> termsByTask = new HashMap<>();
+        private final Map<Long, Long> versions = new HashMap<>();
+        private final LinkedHashMap<Long, Long> deletedAt = new LinkedHashMap<>();
+
+        void link(Long taskId, long version, Map<String, Integer> weights) {
+            termsByTask.put(taskId, weights);
+            versions.put(taskId, version);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(taskId, weight));
+        }
+
+        Map<String, Integer> unlink(Long taskId) {
+            Map<String, Integer> previous = termsByTask.remove(taskId);
+            versions.remove(taskId);
+            if (previous != null) {
+                for (String term : previous.keySet()) {
+                    Map<Long, Integer> posting = postings.get(term);
+                    posting.remove(taskId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            return previous;
+        }
+
+        void pruneTombstones(long now) {
+            Iterator<Long> oldest = deletedAt.values().iterator();
+            while (oldest.hasNext() && now - oldest.next() > TOMBSTONE_TTL_NANOS) {
+                oldest.remove();
+            }
+        }
+
+        // Best score per task over every indexed term that starts with prefix
+        Map<Long, Integer> match(String prefix) {
+            Map<Long, Integer> scores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                int factor = entry.getKey().length() == prefix.length() ? EXACT_MATCH_FACTOR : 1;
+                entry.getValue().forEach((taskId, weight) -> scores.merge(taskId, weight * factor, Math::max));
+            }
+            return scores;
+        }
+    }
+}
@@ -4,10 +4,18 @@ import com.example.taskmanager.model.Task;
 import java.util.List;
 
 public interface TaskService {
-    List<Task> getAllTasks(Boolean completed, String sortBy, Long userId);
+    TaskSlice getAllTasks(Boolean completed, String sortBy, String cursor, Integer size, Long userId);
+    TaskSummarySlice getTaskSummaries(Boolean completed, String sortBy, String cursor, Integer size, Long userId);
+    String getTaskListVersion(Long userId);
     Task getTaskById(Long id, Long userId);
     Task createTask(Task task, Long userId);
     Task updateTask(Long id, Task task, Long userId);
     Task updateTaskStatus(Long id, boolean completed, Long userId);
     void deleteTask(Long id, Long userId);
+    List<TaskBatchResult> createTasks(List<Task> tasks, Long userId);
+    List<TaskBatchResult> updateTaskStatuses(List<Long> ids, boolean completed, Long userId);
+    List<TaskBatchResult> deleteTasks(List<Long> ids, Long userId);
+    TaskStats getTaskStats(Long userId);
+    TaskChanges getChangesSince(long since, Integer size, Long userId);
+    List<Task> searchTasks(String query, Integer size, Long userId);
 } 
\ No newline at end of file
@@ -1,71 +1,378 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.TaskSummary;
 import com.example.taskmanager.exception.TaskNotFoundException;
 import com.example.taskmanager.exception.UnauthorizedTaskAccessException;
 import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "task.service", description = "Time spent in each TaskService method, transaction included") // Tagged By Method And Exception
 public class TaskServiceImpl implements TaskService {
-    
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int DEFAULT_SEARCH_SIZE = 20;
+    public static final int MAX_SEARCH_SIZE = 100;
+
     private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final TaskVersions taskVersions;
+    private final TaskChangeLog taskChangeLog;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatistics taskStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(
+            TaskRepository taskRepository,
+            TaskCache taskCache,
+            TaskVersions taskVersions,
+            TaskChangeLog taskChangeLog,
+            TaskSearchIndex taskSearchIndex,
+            TaskStatistics taskStatistics,
+            ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.taskVersions = taskVersions;
+        this.taskChangeLog = taskChangeLog;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatistics = taskStatistics;
+        this.eventPublisher = eventPublisher;
+        this.clock = Clock.systemUTC();
     }
 
     @Override
-    public List<Task> getAllTasks(Boolean completed, String sortBy, Long userId) {
-        if (completed == null) {
-            if ("title".equals(sortBy)) {
-                return taskRepository.findByUserIdOrderByTitle(userId);
-            } else {
-                return taskRepository.findByUserIdOrderById(userId);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true) // A Cache Hit Shouldn't Check Out A Connection
+    public TaskSlice getAllTasks(Boolean completed, String sortBy, String cursor, Integer size, Long userId) {
+        int pageSize = resolvePageSize(size);
+        // Completed filter keeps its existing id ordering; title sort only applies to the unfiltered list
+        boolean byTitle = completed == null && "title".equals(sortBy);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor, byTitle);
+        String cursorKey = after == null ? null : cursor;
+        return taskCache.getPage(userId, completed, byTitle, cursorKey, pageSize,
+            () -> loadPage(completed, byTitle, after, pageSize, userId));
+    }
+
+    private TaskSlice loadPage(Boolean completed, boolean byTitle, TaskCursor after, int pageSize, Long userId) {
+        List<Task> tasks = findPage(Task.class, completed, byTitle, after, pageSize, userId);
+        if (tasks.size() <= pageSize) {
+            return new TaskSlice(tasks, null, false);
+        }
+        List<Task> page = tasks.subList(0, pageSize);
+        String nextCursor = TaskCursor.after(page.get(pageSize - 1), byTitle).encode();
+        return new TaskSlice(page, nextCursor, true);
+    }
+
+    // Same pages and cursors as getAllTasks, read as TaskSummary rows. Not cached: a summary page is a cheap
+    // index-ordered read of three columns, and caching it too would hold a second copy of every list
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSummarySlice getTaskSummaries(Boolean completed, String sortBy, String cursor, Integer size, Long userId) {
+        int pageSize = resolvePageSize(size);
+        boolean byTitle = completed == null && "title".equals(sortBy);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor, byTitle);
+        List<TaskSummary> summaries = findPage(TaskSummary.class, completed, byTitle, after, pageSize, userId);
+        if (summaries.size() <= pageSize) {
+            return new TaskSummarySlice(summaries, null, false);
+        }
+        List<TaskSummary> page = summaries.subList(0, pageSize);
+        String nextCursor = TaskCursor.after(page.get(pageSize - 1), byTitle).encode();
+        return new TaskSummarySlice(page, nextCursor, true);
+    }
+
+    private <T> List<T> findPage(Class<T> type, Boolean completed, boolean byTitle, TaskCursor after, int pageSize, Long userId) {
+        Limit limit = Limit.of(pageSize + 1); // One Extra Row Tells Us If There Is A Next Page
+        if (byTitle) {
+            if (after == null) {
+                return taskRepository.findByUserIdOrderByTitle(userId, limit, type);
+            }
+            if (after.title() == null) {
+                return taskRepository.findByUserIdAfterNullTitleOrderByTitle(userId, after.id(), limit, type);
             }
-        } else {
-            return taskRepository.findByUserIdAndCompletedOrderById(userId, completed);
+            return taskRepository.findByUserIdAfterTitleOrderByTitle(userId, after.title(), after.id(), limit, type);
+        }
+        if (completed == null) {
+            return after == null
+                ? taskRepository.findByUserIdOrderById(userId, limit, type)
+                : taskRepository.findByUserIdAndIdGreaterThanOrderById(userId, after.id(), limit, type);
         }
+        return after == null
+            ? taskRepository.findByUserIdAndCompletedOrderById(userId, completed, limit, type)
+            : taskRepository.findByUserIdAndCompletedAndIdGreaterThanOrderById(userId, completed, after.id(), limit, type);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getTaskListVersion(Long userId) {
+        return taskVersions.tag(userId); // In Memory Only, Never Touches The Database
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Task getTaskById(Long id, Long userId) {
+        Task task = taskCache.getTask(id, () -> taskRepository.findById(id))
+            .orElseThrow(() -> new TaskNotFoundException(id));
+        return checkOwner(task, userId);
+    }
+
+    // Writes start from the database row, never from a cached copy that could be a commit behind
+    private Task loadOwnedTask(Long id, Long userId) {
         Task task = taskRepository.findById(id)
             .orElseThrow(() -> new TaskNotFoundException(id));
+        return checkOwner(task, userId);
+    }
 
+    private Task checkOwner(Task task, Long userId) {
         if (!task.getUserId().equals(userId)) {
-            throw new UnauthorizedTaskAccessException(id);
+            throw new UnauthorizedTaskAccessException(task.getId());
         }
         return task;
     }
 
     @Override
     public Task createTask(Task task, Long userId) {
+        task.setId(null); // Ids Are Server-Assigned, A Client Id Would Turn save() Into An Update
+        task.setVersion(null); // Same For A Client Version, Spring Data Treats A Non-Null Version As Not New
         task.setUserId(userId);
-        return taskRepository.save(task);
+        task.setCompletedAt(task.isCompleted() ? clock.instant() : null);
+        Task saved = taskRepository.save(task);
+        publishChange(userId, TaskChange.Type.CREATED, List.of(saved.getId()), List.of(saved));
+        publishCounts(userId, 1, saved.isCompleted() ? 1 : 0);
+        return saved;
     }
 
     @Override
     public Task updateTask(Long id, Task updatedTask, Long userId) {
-        Task task = getTaskById(id, userId);
+        Task task = loadOwnedTask(id, userId);
         task.setTitle(updatedTask.getTitle());
         task.setDescription(updatedTask.getDescription());
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publishChange(userId, TaskChange.Type.UPDATED, List.of(id), List.of(saved));
+        return saved;
     }
 
     @Override
     public Task updateTaskStatus(Long id, boolean completed, Long userId) {
-        Task task = getTaskById(id, userId);
-        task.setCompleted(completed);
-        return taskRepository.save(task);
+        // A reopen returns the completedAt it cleared, so the completion comes off the day it was made
+        List<Instant> takenBack = completed ? List.of() : taskRepository.reopenByIdAndUserId(id, userId);
+        int changed = completed
+            ? taskRepository.updateCompletedByIdAndUserId(id, userId, true, completedAt(true))
+            : takenBack.size();
+        // Re-read for the response body; the write itself no longer depends on a loaded entity. No row changed
+        // means missing, not the caller's, or already in that state, and the read tells which
+        Task task = taskRepository.findById(id)
+            .orElseThrow(() -> new TaskNotFoundException(id));
+        if (changed == 0) {
+            return checkOwner(task, userId); // Same Status Again Is A No-Op, No Version Bump And No Change Event
+        }
+        publishChange(userId, TaskChange.Type.STATUS_CHANGED, List.of(id));
+        publishCounts(userId, 0, completed ? 1 : -1, nonNull(takenBack));
+        return task;
     }
 
     @Override
     public void deleteTask(Long id, Long userId) {
-        Task task = getTaskById(id, userId);
-        taskRepository.deleteById(task.getId());
+        // The counts need to know whether a completed task went away, so each statement only deletes one status:
+        // completed first, which also returns its completedAt, then open
+        List<Instant> completedAt = taskRepository.deleteCompletedByIdAndUserId(id, userId);
+        if (completedAt.isEmpty() && taskRepository.deleteOpenByIdAndUserId(id, userId) == 0) {
+            throw missingOrForeign(id);
+        }
+        publishChange(userId, TaskChange.Type.DELETED, List.of(id));
+        publishCounts(userId, -1, -completedAt.size(), nonNull(completedAt));
+    }
+
+    // Slow path, only reached when an ownership-scoped write matched no row
+    private RuntimeException missingOrForeign(Long id) {
+        return taskRepository.existsById(id)
+            ? new UnauthorizedTaskAccessException(id)
+            : new TaskNotFoundException(id);
+    }
+
+    private Instant completedAt(boolean completed) {
+        return completed ? clock.instant() : null;
+    }
+
+    @Override
+    public List<TaskBatchResult> createTasks(List<Task> tasks, Long userId) {
+        checkBatchSize(tasks);
+        Instant now = clock.instant();
+        for (Task task : tasks) {
+            task.setId(null);
+            task.setVersion(null);
+            task.setUserId(userId);
+            task.setCompletedAt(task.isCompleted() ? now : null);
+        }
+        // Sequence ids + hibernate.jdbc.batch_size turn this into batched INSERTs
+        List<Task> saved = taskRepository.saveAll(tasks);
+        publishChange(userId, TaskChange.Type.CREATED, saved.stream().map(Task::getId).toList(), saved);
+        publishCounts(userId, saved.size(), saved.stream().filter(Task::isCompleted).count());
+        return saved.stream()
+            .map(TaskBatchResult::created)
+            .toList();
+    }
+
+    @Override
+    public List<TaskBatchResult> updateTaskStatuses(List<Long> ids, boolean completed, Long userId) {
+        return applyToOwned(ids, userId, TaskBatchResult.Status.UPDATED, TaskChange.Type.STATUS_CHANGED, (owned, owners) -> {
+            int changed = taskRepository.updateCompletedByUserIdAndIdIn(userId, owned, completed, completedAt(completed));
+            if (completed) {
+                publishCounts(userId, 0, changed);
+            } else {
+                publishCounts(userId, 0, -changed, completionsTakenBack(owners));
+            }
+        });
+    }
+
+    @Override
+    public List<TaskBatchResult> deleteTasks(List<Long> ids, Long userId) {
+        return applyToOwned(ids, userId, TaskBatchResult.Status.DELETED, TaskChange.Type.DELETED, (owned, owners) -> {
+            int deleted = taskRepository.deleteByUserIdAndIdIn(userId, owned);
+            long ownedCompleted = owners.stream().filter(TaskRepository.TaskOwner::isCompleted).count();
+            publishCounts(userId, -deleted, -ownedCompleted, completionsTakenBack(owners));
+        });
+    }
+
+    // Classifies every requested id with one SELECT, then runs a single statement over the ones the user owns.
+    // The statement also gets those tasks' owner rows, as read when classified
+    private List<TaskBatchResult> applyToOwned(
+            List<Long> ids, Long userId, TaskBatchResult.Status appliedStatus, TaskChange.Type changeType,
+            BiConsumer<Set<Long>, List<TaskRepository.TaskOwner>> statement) {
+        checkBatchSize(ids);
+        Set<Long> requested = new LinkedHashSet<>(ids); // Drop Duplicates, Keep Request Order
+        Map<Long, TaskRepository.TaskOwner> ownerById = taskRepository.findOwnersByIdIn(requested).stream()
+            .collect(Collectors.toMap(TaskRepository.TaskOwner::getId, Function.identity()));
+
+        Set<Long> owned = new LinkedHashSet<>();
+        List<TaskRepository.TaskOwner> owners = new ArrayList<>();
+        List<TaskBatchResult> results = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            TaskRepository.TaskOwner owner = ownerById.get(id);
+            if (owner == null) {
+                results.add(TaskBatchResult.of(id, TaskBatchResult.Status.NOT_FOUND));
+            } else if (!owner.getUserId().equals(userId)) {
+                results.add(TaskBatchResult.of(id, TaskBatchResult.Status.FORBIDDEN));
+            } else {
+                owned.add(id);
+                owners.add(owner);
+                results.add(TaskBatchResult.of(id, appliedStatus));
+            }
+        }
+        if (!owned.isEmpty()) {
+            statement.accept(owned, owners);
+            publishChange(userId, changeType, List.copyOf(owned));
+        }
+        return results;
+    }
+
+    // The change log row is written in this transaction; the event reaches TaskCache (and any other
+    // listener) only once it commits
+    private void publishChange(Long userId, TaskChange.Type type, List<Long> taskIds) {
+        publishChange(userId, type, taskIds, List.of());
+    }
+
+    private void publishChange(Long userId, TaskChange.Type type, List<Long> taskIds, List<Task> tasks) {
+        taskChangeLog.record(userId, type, taskIds);
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, type, taskIds, tasks));
+    }
+
+    // Applied to TaskStatistics on commit, so GET /api/tasks/stats never has to count
+    private void publishCounts(Long userId, long totalDelta, long completedDelta) {
+        publishCounts(userId, totalDelta, completedDelta, List.of());
+    }
+
+    private void publishCounts(Long userId, long totalDelta, long completedDelta, List<Instant> completionsTakenBack) {
+        if (totalDelta != 0 || completedDelta != 0) {
+            eventPublisher.publishEvent(new TaskCountsChangedEvent(userId, totalDelta, completedDelta, completionsTakenBack));
+        }
+    }
+
+    // Rows completed before completedAt existed have none, and were never in a day's count
+    private static List<Instant> nonNull(List<Instant> completedAt) {
+        return completedAt.stream().filter(Objects::nonNull).toList();
+    }
+
+    // When the completions being reopened or deleted were made
+    private static List<Instant> completionsTakenBack(List<TaskRepository.TaskOwner> owners) {
+        return owners.stream()
+            .filter(TaskRepository.TaskOwner::isCompleted)
+            .map(TaskRepository.TaskOwner::getCompletedAt)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true) // Counters In Memory Once Loaded
+    public TaskStats getTaskStats(Long userId) {
+        return taskStatistics.getStats(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChanges getChangesSince(long since, Integer size, Long userId) {
+        return taskChangeLog.changesSince(since, size, userId);
+    }
+
+    // Ranking comes from the index; only the hits themselves are read back, in one query
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> searchTasks(String query, Integer size, Long userId) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int limit = size == null ? DEFAULT_SEARCH_SIZE : Math.min(Math.max(size, 1), MAX_SEARCH_SIZE);
+        List<Long> ids = taskSearchIndex.search(userId, query, limit).stream()
+            .map(TaskSearchIndex.Hit::taskId)
+            .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> tasksById = taskRepository.findAllById(ids).stream()
+            .filter(task -> task.getUserId().equals(userId))
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ids.stream()
+            .map(tasksById::get)
+            .filter(Objects::nonNull) // Deleted Since The Index Was Read
+            .toList();
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items");
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+
+import java.util.List;
+
+// One keyset page of tasks; nextCursor is null when there is nothing after this page
+public record TaskSlice(List<Task> content, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,227 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Per-user task counts behind GET /api/tasks/stats. Counted once with aggregate queries, then kept current in memory
+// from the TaskCountsChangedEvents writers publish on commit, so neither a write nor a repeat read runs a count.
+// A write bumps the user's stamp just before its transaction commits and again once its delta is applied; a database
+// count is only installed if the stamp didn't move while it ran and no write is between those two points, since it
+// can't tell whether it saw that write. Reconciliation recounts every loaded user and fixes drift (a lost event, a
+// write from outside this app); day buckets are only recounted for users that drifted.
+@Service
+public class TaskStatistics {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, Counters> countersByUserId;
+    private final int days;
+    private final Clock clock;
+    private final Counter driftCorrections;
+
+    public TaskStatistics(
+            TaskRepository taskRepository,
+            MeterRegistry registry,
+            @Value("${taskmanager.stats.maximum-users:10000}") long maximumUsers,
+            @Value("${taskmanager.stats.days:30}") int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("taskmanager.stats.days must be at least 1");
+        }
+        this.taskRepository = taskRepository;
+        this.countersByUserId = Caffeine.newBuilder()
+            .maximumSize(maximumUsers)
+            .build();
+        this.days = days;
+        this.clock = Clock.systemUTC();
+        this.driftCorrections = Counter.builder("task.stats.drift")
+            .description("Users whose in-memory task counts disagreed with the database and were corrected")
+            .register(registry);
+    }
+
+    public TaskStats getStats(Long userId) {
+        Counters counters = countersByUserId.get(userId, id -> new Counters());
+        LocalDate today = LocalDate.now(clock);
+        LocalDate firstDay = today.minusDays(days - 1);
+        Snapshot snapshot = counters.snapshot(firstDay);
+
+        long total = snapshot.total();
+        long completed = snapshot.completed();
+        if (!snapshot.counted()) {
+            TaskRepository.TaskCounts counts = taskRepository.countByUserId(userId);
+            total = counts.getTotal();
+            completed = counts.getCompleted();
+            counters.recount(total, completed, snapshot.stamp());
+        }
+        Map<LocalDate, Long> completedPerDay = snapshot.completedPerDay();
+        if (completedPerDay == null) {
+            completedPerDay = taskRepository.countCompletedPerDay(userId, firstDay.atStartOfDay(ZoneOffset.UTC).toInstant())
+                .stream()
+                .collect(Collectors.toMap(
+                    TaskRepository.DailyCompletions::getDay, TaskRepository.DailyCompletions::getCompleted));
+            counters.recountDays(completedPerDay, snapshot.stamp());
+        }
+
+        List<TaskStats.Day> perDay = new ArrayList<>(days);
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            perDay.add(new TaskStats.Day(day, completedPerDay.getOrDefault(day, 0L)));
+        }
+        return new TaskStats(total, completed, total - completed, perDay);
+    }
+
+    // Runs inside the writer's transaction to hook its commit; without one the write is already committed
+    @EventListener
+    public void onCountsChanged(TaskCountsChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Counters counters = countersByUserId.getIfPresent(event.userId());
+            if (counters != null) { // Not Loaded Yet, The First Read Counts From Scratch
+                counters.apply(event, LocalDate.now(clock));
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Counters counters;
+
+            // Loaded here even if nobody asked yet, so a count that starts now can see this write is in flight
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                counters = countersByUserId.get(event.userId(), id -> new Counters());
+                counters.beginCommit();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counters != null) {
+                    counters.endCommit(status == STATUS_COMMITTED ? event : null, LocalDate.now(clock));
+                }
+            }
+        });
+    }
+
+    @Scheduled(
+        initialDelayString = "${taskmanager.stats.reconcile-interval:10m}",
+        fixedDelayString = "${taskmanager.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        List<Map.Entry<Long, Counters>> loaded = List.copyOf(countersByUserId.asMap().entrySet());
+        for (int from = 0; from < loaded.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Map.Entry<Long, Counters>> batch = loaded.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, loaded.size()));
+            Map<Long, Long> stampsBefore = new HashMap<>();
+            batch.forEach(entry -> stampsBefore.put(entry.getKey(), entry.getValue().stamp()));
+
+            Map<Long, TaskRepository.UserTaskCounts> countsByUserId = taskRepository.countByUserIdIn(stampsBefore.keySet())
+                .stream()
+                .collect(Collectors.toMap(TaskRepository.UserTaskCounts::getUserId, Function.identity()));
+            for (Map.Entry<Long, Counters> entry : batch) {
+                TaskRepository.UserTaskCounts counts = countsByUserId.get(entry.getKey()); // Absent Means No Tasks
+                long total = counts == null ? 0 : counts.getTotal();
+                long completed = counts == null ? 0 : counts.getCompleted();
+                if (entry.getValue().reconcile(total, completed, stampsBefore.get(entry.getKey()))) {
+                    driftCorrections.increment();
+                }
+            }
+        }
+    }
+
+    private record Snapshot(long stamp, boolean counted, long total, long completed, Map<LocalDate, Long> completedPerDay) {
+    }
+
+    private static final class Counters {
+        private long stamp;
+        private int committing; // Writes Past beforeCommit Whose Delta Isn't Applied Yet
+        private boolean counted;
+        private long total;
+        private long completed;
+        private Map<LocalDate, Long> completedPerDay; // Null Until Counted, And Again After Drift
+
+        synchronized long stamp() {
+            return stamp;
+        }
+
+        synchronized Snapshot snapshot(LocalDate firstDay) {
+            Map<LocalDate, Long> inWindow = null;
+            if (completedPerDay != null) {
+                completedPerDay.keySet().removeIf(day -> day.isBefore(firstDay)); // Fell Out Of The Window
+                inWindow = Map.copyOf(completedPerDay);
+            }
+            return new Snapshot(stamp, counted, total, completed, inWindow);
+        }
+
+        synchronized void beginCommit() {
+            stamp++;
+            committing++;
+        }
+
+        // committed is null when the transaction rolled back
+        synchronized void endCommit(TaskCountsChangedEvent committed, LocalDate today) {
+            committing--;
+            if (committed != null) {
+                apply(committed, today);
+            } else {
+                stamp++;
+            }
+        }
+
+        synchronized void apply(TaskCountsChangedEvent event, LocalDate today) {
+            stamp++;
+            total += event.totalDelta();
+            completed += event.completedDelta();
+            if (completedPerDay != null) {
+                if (event.completedDelta() > 0) {
+                    completedPerDay.merge(today, event.completedDelta(), Long::sum);
+                }
+                for (Instant completedAt : event.completionsTakenBack()) {
+                    // Days Already Out Of The Window Aren't Held
+                    completedPerDay.computeIfPresent(
+                        LocalDate.ofInstant(completedAt, ZoneOffset.UTC), (day, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        }
+
+        synchronized void recount(long total, long completed, long stampBefore) {
+            if (stamp == stampBefore && committing == 0) {
+                this.total = total;
+                this.completed = completed;
+                counted = true;
+            }
+        }
+
+        synchronized void recountDays(Map<LocalDate, Long> completedPerDay, long stampBefore) {
+            if (stamp == stampBefore && committing == 0) {
+                this.completedPerDay = new HashMap<>(completedPerDay);
+            }
+        }
+
+        // True when counts that had been trusted turned out wrong
+        synchronized boolean reconcile(long total, long completed, long stampBefore) {
+            if (stamp != stampBefore || committing > 0) {
+                return false; // Raced A Write, Next Run
+            }
+            boolean drifted = counted && (this.total != total || this.completed != completed);
+            recount(total, completed, stampBefore);
+            if (drifted) {
+                completedPerDay = null; // Whatever Caused It Likely Moved A Day Too, Count Them On The Next Read
+            }
+            return drifted;
+        }
+    }
+}
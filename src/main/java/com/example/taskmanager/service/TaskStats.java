@@ -0,0 +1,11 @@
+package com.example.taskmanager.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// GET /api/tasks/stats; completedPerDay is one entry per UTC day, oldest first, days without completions included
+public record TaskStats(long total, long completed, long open, List<Day> completedPerDay) {
+
+    public record Day(LocalDate date, long completed) {
+    }
+}
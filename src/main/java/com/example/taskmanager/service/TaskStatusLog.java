@@ -0,0 +1,164 @@
+package com.example.taskmanager.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-ahead log of acknowledged status toggles, one "<userId> <taskId> <0|1>" line each. Appends are serialized by
+// the caller; sync() is a group commit, so toggles arriving while one fsync runs share the next one instead of
+// queueing an fsync each. Replayed on startup, truncated once everything in it has reached the database.
+class TaskStatusLog implements AutoCloseable {
+
+    record Entry(long userId, long taskId, boolean completed) {
+    }
+
+    private final Path file;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private FileChannel channel; // Swapped Only By rewrite(), Under syncLock
+    private volatile long written;
+    private volatile long synced;
+    private int lines;
+
+    TaskStatusLog(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open();
+        dropTornLine();
+        this.lines = replay().size();
+    }
+
+    List<Entry> replay() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            if (parts.length != 3 || !(parts[2].equals("0") || parts[2].equals("1"))) {
+                continue; // Torn Last Line From A Crash
+            }
+            try {
+                entries.add(new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2].equals("1")));
+            } catch (NumberFormatException e) {
+                // Skip Corrupt Line
+            }
+        }
+        return entries;
+    }
+
+    // Caller holds the write lock; the returned sequence is what to pass to sync()
+    long append(Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(format(entry).getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        lines++;
+        return ++written;
+    }
+
+    // Returns once everything up to sequence is on disk
+    void sync(long sequence) throws IOException {
+        if (synced >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= sequence) {
+                return; // Another Thread's fsync Covered It
+            }
+            long target = written;
+            channel.force(false);
+            synced = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    int lines() {
+        return lines;
+    }
+
+    // Caller holds the write lock. Replaces the log with just the toggles still waiting for the database
+    void rewrite(Collection<Entry> live) throws IOException {
+        syncLock.lock();
+        try {
+            if (live.isEmpty()) {
+                channel.truncate(0);
+                channel.force(true);
+            } else {
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    StringBuilder content = new StringBuilder();
+                    live.forEach(entry -> content.append(format(entry)));
+                    ByteBuffer bytes = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+                    while (bytes.hasRemaining()) {
+                        out.write(bytes);
+                    }
+                    out.force(true);
+                }
+                channel.close();
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel = open();
+            }
+            lines = live.size();
+            synced = written;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        try {
+            channel.close();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // A crash mid-append leaves a line without its newline; cut it off so the next append can't run into it
+    private void dropTornLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        long end = size;
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                reader.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+        }
+        if (end < size) {
+            channel.truncate(end);
+            channel.force(true);
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String format(Entry entry) {
+        return entry.userId() + " " + entry.taskId() + " " + (entry.completed() ? '1' : '0') + "\n";
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Opt-in write-behind for PATCH /api/tasks/{id}/status. A toggle is acknowledged once it is fsynced to
+// TaskStatusLog; only the latest toggle per task is kept, and those reach the database in batched transactions
+// through TaskService.updateTaskStatuses, so the change log, caches, stats and event stream behave as for a batch
+// update. Any other task request from the same user flushes that user's toggles first, which keeps reads
+// (and later writes) in order with what was acknowledged. The log is replayed on startup
+@Service
+@ConditionalOnProperty(name = "taskmanager.write-behind.enabled", havingValue = "true")
+public class TaskStatusWriteBehind implements AutoCloseable {
+
+    private static final int MIN_LINES_BEFORE_COMPACTION = 1_000;
+    private static final int FLUSH_LOCK_STRIPES = 64;
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(10); // For A Scheduled Flush Already Running
+
+    // Compared by identity, so a flush only clears the toggle it wrote and not a newer one with the same value
+    private static final class PendingStatus {
+        final boolean completed;
+
+        PendingStatus(boolean completed) {
+            this.completed = completed;
+        }
+    }
+
+    private final TaskService taskService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskStatusLog log;
+    private final Clock clock;
+    private final ReentrantLock writeLock = new ReentrantLock(); // Appends, Pending Removal, Log Rewrites; Held Briefly
+    private final ReentrantLock[] flushLocks = new ReentrantLock[FLUSH_LOCK_STRIPES]; // By User, Striped
+    private final ScheduledExecutorService flusher;
+    private final Map<Long, Map<Long, PendingStatus>> pendingByUser = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    @Autowired
+    public TaskStatusWriteBehind(
+            TaskService taskService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${taskmanager.write-behind.log:data/task-status.wal}") Path file,
+            @Value("${taskmanager.write-behind.flush-interval:200ms}") Duration flushInterval) {
+        this(taskService, transactionManager, registry, file, flushInterval, Clock.systemUTC());
+    }
+
+    public TaskStatusWriteBehind(
+            TaskService taskService, PlatformTransactionManager transactionManager, MeterRegistry registry,
+            Path file, Duration flushInterval, Clock clock) {
+        this.taskService = taskService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        try {
+            this.log = new TaskStatusLog(file);
+            for (TaskStatusLog.Entry entry : log.replay()) {
+                pending(entry.userId()).put(entry.taskId(), new PendingStatus(entry.completed())); // Last One Wins
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open task status log " + file, e);
+        }
+        Gauge.builder("task.status.pending", this, TaskStatusWriteBehind::pendingCount)
+            .description("Acknowledged status toggles not yet written to the database")
+            .register(registry);
+        this.coalesced = Counter.builder("task.status.coalesced")
+            .description("Status toggles replaced by a later toggle of the same task before reaching the database")
+            .register(registry);
+        this.flushFailures = Counter.builder("task.status.flush.failures")
+            .description("Write-behind flushes rolled back; their toggles stay pending and are retried")
+            .register(registry);
+        this.flushTimer = Timer.builder("task.status.flush")
+            .description("Time to write one user's pending status toggles to the database")
+            .register(registry);
+        for (int i = 0; i < FLUSH_LOCK_STRIPES; i++) {
+            flushLocks[i] = new ReentrantLock();
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-status-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flushAll();
+            } catch (RuntimeException e) {
+                // An Exception Would Cancel The Schedule; The Next Run Retries
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Same 404/403 as the synchronous path, checked before the toggle is accepted. The returned task shows the
+    // toggle applied; completedAt in the database is the flush time
+    public Task updateTaskStatus(Long id, boolean completed, Long userId) {
+        Task task = taskService.getTaskById(id, userId);
+        long sequence;
+        writeLock.lock();
+        try {
+            sequence = log.append(new TaskStatusLog.Entry(userId, id, completed));
+            if (pending(userId).put(id, new PendingStatus(completed)) != null) {
+                coalesced.increment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist task status", e);
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            log.sync(sequence); // Outside The Lock, So Concurrent Toggles Share One fsync
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist task status", e);
+        }
+        Instant completedAt = task.isCompleted() ? task.getCompletedAt() : null;
+        task.setCompleted(completed);
+        task.setCompletedAt(completed ? Objects.requireNonNullElse(completedAt, clock.instant()) : null);
+        return task;
+    }
+
+    public boolean hasPending(Long userId) {
+        return pendingByUser.containsKey(userId);
+    }
+
+    // Read-your-writes: called before any other task request of this user. Only waits for a flush of this user
+    public void flush(Long userId) {
+        if (hasPending(userId)) {
+            RuntimeException failure = flushUser(userId);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Runs on this class's own flusher thread, so the shared @Scheduled thread (change log compaction, stats
+    // reconcile) can't hold it up. A user whose flush fails keeps their toggles for the next run
+    public void flushAll() {
+        for (Long userId : List.copyOf(pendingByUser.keySet())) {
+            flushUser(userId);
+        }
+        writeLock.lock();
+        try {
+            checkpoint();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // One transaction per user, serialized per user so that user's toggles land in order; returns the failure
+    private RuntimeException flushUser(Long userId) {
+        ReentrantLock lock = flushLocks[Math.floorMod(userId.hashCode(), FLUSH_LOCK_STRIPES)];
+        lock.lock();
+        try {
+            Map<Long, PendingStatus> statuses = snapshot(userId);
+            if (statuses.isEmpty()) {
+                return null; // Another Thread Flushed Them
+            }
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> apply(userId, statuses)));
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                return e;
+            }
+            writeLock.lock();
+            try {
+                Map<Long, PendingStatus> pending = pendingByUser.get(userId);
+                statuses.forEach(pending::remove); // Keeps Any Toggle That Arrived During The Flush
+                if (pending.isEmpty()) {
+                    pendingByUser.remove(userId);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Only the latest status per task is here, so each user's toggles split into one set per value
+    private void apply(Long userId, Map<Long, PendingStatus> statuses) {
+        List<Long> completed = new ArrayList<>();
+        List<Long> open = new ArrayList<>();
+        statuses.forEach((taskId, status) -> (status.completed ? completed : open).add(taskId));
+        update(completed, true, userId);
+        update(open, false, userId);
+    }
+
+    // Tasks deleted since their toggle come back NOT_FOUND and are simply dropped
+    private void update(List<Long> ids, boolean completed, Long userId) {
+        for (int from = 0; from < ids.size(); from += TaskServiceImpl.MAX_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + TaskServiceImpl.MAX_BATCH_SIZE));
+            taskService.updateTaskStatuses(chunk, completed, userId);
+        }
+    }
+
+    // Caller holds writeLock. Empties the log once everything is in the database, otherwise rewrites it with the
+    // pending toggles once it is mostly flushed lines
+    private void checkpoint() {
+        try {
+            if (pendingByUser.isEmpty()) {
+                if (log.lines() > 0) {
+                    log.rewrite(List.of());
+                }
+                return;
+            }
+            int pending = pendingCount();
+            if (log.lines() > Math.max(MIN_LINES_BEFORE_COMPACTION, pending * 2)) {
+                List<TaskStatusLog.Entry> live = new ArrayList<>(pending);
+                pendingByUser.forEach((userId, statuses) -> statuses.forEach((taskId, status) ->
+                    live.add(new TaskStatusLog.Entry(userId, taskId, status.completed))));
+                log.rewrite(live);
+            }
+        } catch (IOException e) {
+            // The Log Still Holds Every Pending Toggle; Replaying Flushed Ones Is Harmless
+        }
+    }
+
+    private Map<Long, PendingStatus> snapshot(Long userId) {
+        writeLock.lock();
+        try {
+            Map<Long, PendingStatus> statuses = pendingByUser.get(userId);
+            return statuses == null ? Map.of() : new LinkedHashMap<>(statuses);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Map<Long, PendingStatus> pending(Long userId) {
+        return pendingByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+    }
+
+    private int pendingCount() {
+        return pendingByUser.values().stream().mapToInt(Map::size).sum();
+    }
+
+    // Runs before TaskService and the DataSource are destroyed, so a clean shutdown leaves nothing pending
+    @Override
+    public void close() {
+        // No Interrupt: A Flush Cut Off Mid-Transaction Would Roll Back And Leave Its Toggles For The Final One
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(SHUTDOWN_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flushAll();
+        } finally {
+            try {
+                log.close();
+            } catch (IOException e) {
+                // Every Toggle Was Already fsynced
+            }
+        }
+    }
+}
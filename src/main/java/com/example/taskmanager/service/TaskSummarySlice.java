@@ -0,0 +1,9 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.model.TaskSummary;
+
+import java.util.List;
+
+// TaskSlice for GET /api/tasks?fields=..., same keyset cursor
+public record TaskSummarySlice(List<TaskSummary> content, String nextCursor, boolean hasNext) {
+}
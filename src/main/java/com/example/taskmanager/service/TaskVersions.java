@@ -0,0 +1,39 @@
+package com.example.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user task collection version, bumped once a write commits. Values come from one process-wide counter, so a
+// user seen for the first time (or whose entry was evicted) gets a number no earlier state of theirs ever had,
+// and the random boot epoch keeps versions from one run from matching those handed out by a previous one
+@Component
+public class TaskVersions {
+
+    private final String bootEpoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong counter = new AtomicLong();
+    private final Cache<Long, Long> versionByUserId;
+
+    public TaskVersions(@Value("${taskmanager.task-versions.maximum-size:100000}") long maximumSize) {
+        this.versionByUserId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    public long current(Long userId) {
+        return versionByUserId.get(userId, key -> counter.incrementAndGet());
+    }
+
+    // Opaque token for HTTP validators; only ever compared for equality
+    public String tag(Long userId) {
+        return bootEpoch + "-" + current(userId);
+    }
+
+    void bump(Long userId) {
+        versionByUserId.put(userId, counter.incrementAndGet());
+    }
+}
@@ -0,0 +1,14 @@
+-- Baseline schema, matching what Hibernate used to generate with ddl-auto=create-drop
+CREATE TABLE app_user (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255),
+    password VARCHAR(255)
+);
+
+CREATE TABLE task (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    completed BOOLEAN NOT NULL,
+    user_id BIGINT
+);
@@ -0,0 +1,8 @@
+-- Every TaskRepository query filters on user_id and orders by id or (title, id),
+-- so these let H2 seek straight to one user's rows already in the requested order
+CREATE INDEX idx_task_user_id_id ON task (user_id, id);
+CREATE INDEX idx_task_user_id_completed_id ON task (user_id, completed, id);
+CREATE INDEX idx_task_user_id_title_id ON task (user_id, title, id);
+
+-- Login and UserIdInterceptor look users up by username; also closes the duplicate-register race
+CREATE UNIQUE INDEX ux_app_user_username ON app_user (username);
@@ -0,0 +1,7 @@
+-- IDENTITY forces Hibernate to insert each task on its own to read back the id, which disables JDBC insert
+-- batching. A sequence handed out 50 ids at a time (Hibernate's pooled optimizer) lets inserts batch.
+ALTER TABLE task ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE task_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM task);
@@ -0,0 +1,2 @@
+-- Optimistic-lock / ETag version for Task (@Version); existing rows start at 0
+ALTER TABLE task ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,23 @@
+-- Per-user change log behind GET /api/tasks/changes. Rows are appended in the same transaction as the task write;
+-- ids come from a pooled sequence so bulk writes batch, and double as the "since" cursor clients send back
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_change (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- "Changes for this user after N", in order
+CREATE INDEX idx_task_change_user_id_id ON task_change (user_id, id);
+
+-- Compaction: find older rows for the same task
+CREATE INDEX idx_task_change_user_id_task_id_id ON task_change (user_id, task_id, id);
+
+-- Highest change id per user whose tombstone has been purged; a client behind it has to resync from scratch
+CREATE TABLE task_change_horizon (
+    user_id BIGINT PRIMARY KEY,
+    horizon BIGINT NOT NULL
+);
@@ -0,0 +1,6 @@
+-- When a task was last marked completed, NULL while it is open; backs the per-day counts of GET /api/tasks/stats.
+-- Tasks already completed before this column existed keep NULL: their completion day was never recorded
+ALTER TABLE task ADD COLUMN completed_at TIMESTAMP WITH TIME ZONE;
+
+-- "This user's completions since <day>", grouped by day
+CREATE INDEX idx_task_user_id_completed_at ON task (user_id, completed_at);
@@ -1,2 +0,0 @@
-INSERT INTO app_user (username, password) VALUES ('testuser', 'password123');
-INSERT INTO task (title, description, completed, user_id) VALUES ('Test Task', 'A task for testuser', false, 1);
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.security.InMemoryRateLimiter;
+import com.example.taskmanager.security.RateLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private static final RateLimit FIVE_PER_MINUTE = new RateLimit("test", 5, Duration.ofMinutes(1));
+
+    private MutableClock clock;
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        rateLimiter = new InMemoryRateLimiter(100, Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void tryAcquire_WhenBurstUsedUp_ShouldRejectWithWaitForOneRefill() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE));
+        }
+
+        // Act
+        long wait = rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE);
+
+        // Assert
+        assertEquals(Duration.ofSeconds(12).toNanos(), wait);
+    }
+
+    @Test
+    void tryAcquire_AfterWaitingTheReportedTime_ShouldAdmitOneMore() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE);
+        }
+        long wait = rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE);
+
+        // Act
+        clock.advance(Duration.ofNanos(wait));
+
+        // Assert
+        assertEquals(0, rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE));
+        assertTrue(rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:2", FIVE_PER_MINUTE));
+    }
+
+    @Test
+    void tryAcquire_AfterIdlePeriod_ShouldRefillOnlyUpToCapacity() {
+        // Arrange
+        rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE);
+        clock.advance(Duration.ofHours(2));
+
+        // Act
+        int admitted = 0;
+        while (rateLimiter.tryAcquire("user:1", FIVE_PER_MINUTE) == 0) {
+            admitted++;
+        }
+
+        // Assert
+        assertEquals(5, admitted);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
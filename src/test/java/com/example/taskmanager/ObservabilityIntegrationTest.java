@@ -0,0 +1,118 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Tests Get A Simple Registry Otherwise, With No Prometheus Endpoint
+@ActiveProfiles("test")
+@Transactional
+class ObservabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("metricsuser");
+        user.setPassword("password");
+        userRepository.save(user);
+        jwtToken = TestJwtTokenUtil.generateToken(userDetailsService.loadUserByUsername("metricsuser"));
+    }
+
+    @Test
+    void slowRequests_WhenNotAdmin_ShouldBeForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/slow-requests").header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void slowRequests_WhenAdmin_ShouldBeListed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/slow-requests").header("Authorization", "Bearer " + adminToken()))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheus_WhenNotAdmin_ShouldBeForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheus_AfterAuthenticatedRequest_ShouldExposeEachStageToAdmin() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("auth_token_verify_seconds_count{")))
+            .andExpect(content().string(containsString("auth_user_resolve_seconds_count{")))
+            .andExpect(content().string(containsString("method=\"getAllTasks\"")))
+            .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+            .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_count{")))
+            .andExpect(content().string(containsString("task_service_seconds_bucket{")));
+    }
+
+    @Test
+    void getTasks_ShouldBreakDownServerTiming() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing", containsString("auth;dur=")))
+            .andExpect(header().string("Server-Timing", containsString("service;dur=")))
+            .andExpect(header().string("Server-Timing", containsString("sql;desc=")))
+            .andExpect(header().string("Server-Timing", containsString("app;dur=")));
+    }
+
+    @Test
+    void readiness_WhenDatabaseAnswers_ShouldBeUp() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/health"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("OK"));
+    }
+
+    private String adminToken() {
+        User admin = new User();
+        admin.setUsername("testadmin"); // Listed In application-test.properties
+        admin.setPassword("password");
+        userRepository.save(admin);
+        return TestJwtTokenUtil.generateToken(userDetailsService.loadUserByUsername("testadmin"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.exception.HashingCapacityExceededException;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.PasswordHasher;
+import com.example.taskmanager.security.TokenRevocationStore;
+import com.example.taskmanager.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.close();
+    }
+
+    @Test
+    void encode_WhenThreadsAndQueueAreFull_ShouldRejectWithoutWaiting() throws Exception {
+        // Arrange
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return "hash";
+        });
+        passwordHasher = new PasswordHasher(slowEncoder, registry, 1, 1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThrows(HashingCapacityExceededException.class, () -> passwordHasher.encode("third"));
+        assertEquals(1.0, registry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_ShouldRecordHashLatency() {
+        // Arrange
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        passwordHasher = new PasswordHasher(encoder, registry, 1, 10);
+        String hash = encoder.encode("password123");
+
+        // Act
+        boolean matches = passwordHasher.matches("password123", hash);
+
+        // Assert
+        assertTrue(matches);
+        assertEquals(1, registry.get("auth.password.hash").tag("operation", "matches").timer().count());
+        assertEquals(1, registry.get("auth.password.queue.wait").timer().count());
+    }
+
+    @Test
+    void login_WhenStoredHashUsesLowerCost_ShouldRehashWithConfiguredCost() {
+        // Arrange
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), registry, 1, 10);
+        UserRepository userRepository = mock(UserRepository.class);
+        AuthService authService = new AuthService(userRepository, mock(TokenRevocationStore.class), passwordHasher, null);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        when(userRepository.findByUsername("testuser"))
+            .thenReturn(Optional.of(user));
+
+        // Act
+        authService.login("testuser", "password123");
+
+        // Assert
+        assertTrue(user.getPassword().startsWith("$2a$05$"));
+        verify(userRepository).save(user);
+        assertFalse(passwordHasher.needsRehash(user.getPassword()));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("auth.password.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "queued hash request never arrived");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.config.SlowRequest;
+import com.example.taskmanager.config.SlowRequestLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    private SimpleMeterRegistry registry;
+    private SlowRequestLog slowRequestLog;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        slowRequestLog = new SlowRequestLog(registry, Duration.ofMillis(500), 3);
+    }
+
+    @Test
+    void isSlow_ShouldCompareAgainstThreshold() {
+        // Act & Assert
+        assertFalse(slowRequestLog.isSlow(Duration.ofMillis(499).toNanos()));
+        assertTrue(slowRequestLog.isSlow(Duration.ofMillis(500).toNanos()));
+    }
+
+    @Test
+    void recent_WhenMoreThanCapacityRecorded_ShouldKeepNewestFirst() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            slowRequestLog.record(slowRequest("/api/tasks/" + i));
+        }
+
+        // Act
+        List<SlowRequest> recent = slowRequestLog.recent();
+
+        // Assert
+        assertEquals(List.of("/api/tasks/5", "/api/tasks/4", "/api/tasks/3"),
+            recent.stream().map(SlowRequest::path).toList());
+        assertEquals(5.0, registry.get("http.server.requests.slow").counter().count());
+    }
+
+    @Test
+    void recent_WhenNothingRecorded_ShouldBeEmpty() {
+        // Act & Assert
+        assertTrue(slowRequestLog.recent().isEmpty());
+    }
+
+    private static SlowRequest slowRequest(String path) {
+        return new SlowRequest(Instant.now(), "GET", path, 200, 1L, 600.0, Map.of("service", 550.0), 2);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.config.StatementCounter;
+import com.example.taskmanager.config.StatementCountingDataSource;
+import com.example.taskmanager.config.StatementRecording;
+import com.example.taskmanager.config.StatementRecordingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCountingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private StatementCounter statementCounter;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1");
+        registry = new SimpleMeterRegistry();
+        statementCounter = new StatementCounter(List.of(new StatementRecordingConfig().statementRecordingListener()));
+        statementCounter.bindTo(registry);
+        dataSource = StatementCountingDataSource.wrap(h2, statementCounter);
+
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("DELETE FROM item");
+        }
+    }
+
+    @Test
+    void executeBatch_ShouldCountOneStatementForAllRows() throws Exception {
+        // Arrange
+        try (StatementRecording recording = StatementRecording.start();
+             Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO item (id, name) VALUES (?, ?)")) {
+            for (long id = 1; id <= 3; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "item " + id);
+                insert.addBatch();
+            }
+
+            // Act
+            insert.executeBatch();
+
+            // Assert
+            assertEquals(1, recording.total());
+            assertEquals(1, recording.count(StatementCounter.Type.INSERT));
+        }
+        assertEquals(1L, statementCounter.executed(StatementCounter.Type.INSERT));
+    }
+
+    @Test
+    void execute_ShouldClassifyEachStatementAndRecordPerConnection() throws Exception {
+        // Arrange
+        try (StatementRecording recording = StatementRecording.start()) {
+            try (Connection connection = dataSource.getConnection()) {
+                // Act
+                try (PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM item");
+                     ResultSet rows = select.executeQuery()) {
+                    assertTrue(rows.next());
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("UPDATE item SET name = 'renamed'");
+                    statement.executeUpdate("DELETE FROM item WHERE id = 1");
+                }
+            }
+
+            // Assert
+            assertEquals(3, recording.total(), recording::toString);
+            assertEquals(1, recording.count(StatementCounter.Type.SELECT));
+            assertEquals(1, recording.count(StatementCounter.Type.UPDATE));
+            assertEquals(1, recording.count(StatementCounter.Type.DELETE));
+        }
+        assertEquals(1L, registry.get("jdbc.statements.per.transaction").summary().count());
+        assertEquals(3.0, registry.get("jdbc.statements.per.transaction").summary().totalAmount());
+    }
+
+    @Test
+    void recording_WhenClosed_ShouldStopCounting() throws Exception {
+        // Arrange
+        StatementRecording recording = StatementRecording.start();
+        recording.close();
+
+        // Act
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT 1").close();
+        }
+
+        // Assert
+        assertEquals(0, recording.total());
+        assertEquals(1L, statementCounter.executed(StatementCounter.Type.SELECT));
+    }
+
+    @Test
+    void unwrap_ShouldReachThePooledDataSource() throws Exception {
+        // Act & Assert
+        assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+        assertInstanceOf(JdbcDataSource.class, dataSource.unwrap(JdbcDataSource.class));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.service.TaskCache;
+import com.example.taskmanager.service.TaskChangedEvent;
+import com.example.taskmanager.service.TaskSlice;
+import com.example.taskmanager.service.TaskVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheTest {
+
+    private TaskVersions taskVersions;
+    private TaskCache taskCache;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskVersions = new TaskVersions(100);
+        taskCache = new TaskCache(taskVersions, 100, 100, Duration.ofMinutes(10));
+
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Task 1");
+        task.setUserId(1L);
+    }
+
+    @Test
+    void getPage_WhenOwnerChangesATask_ShouldReloadOnlyThatUsersPages() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        TaskSlice slice = new TaskSlice(List.of(task), null, false);
+        taskCache.getPage(1L, null, false, null, 50, () -> { loads.incrementAndGet(); return slice; });
+        taskCache.getPage(2L, null, false, null, 50, () -> { loads.incrementAndGet(); return slice; });
+
+        // Act
+        taskCache.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(1L)));
+        taskCache.getPage(1L, null, false, null, 50, () -> { loads.incrementAndGet(); return slice; });
+        taskCache.getPage(2L, null, false, null, 50, () -> { loads.incrementAndGet(); return slice; });
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getTask_WhenTaskChanged_ShouldLoadAgain() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getTask(1L, () -> { loads.incrementAndGet(); return Optional.of(task); });
+
+        // Act
+        taskCache.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(1L)));
+        taskCache.getTask(1L, () -> { loads.incrementAndGet(); return Optional.of(task); });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getTask_WhenWriteCommitsDuringLoad_ShouldNotCacheLoadedRow() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        taskCache.getTask(1L, () -> {
+            loads.incrementAndGet();
+            taskCache.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(1L))); // Row Read Is Now A Commit Behind
+            return Optional.of(task);
+        });
+        taskCache.getTask(1L, () -> { loads.incrementAndGet(); return Optional.of(task); });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onTaskChanged_ShouldMoveOnlyTheOwnersVersionForward() {
+        // Arrange
+        String ownerBefore = taskVersions.tag(1L);
+        String otherBefore = taskVersions.tag(2L);
+
+        // Act
+        taskCache.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(1L)));
+
+        // Assert
+        assertNotEquals(ownerBefore, taskVersions.tag(1L));
+        assertEquals(otherBefore, taskVersions.tag(2L));
+        assertTrue(taskVersions.current(1L) > taskVersions.current(2L));
+    }
+}
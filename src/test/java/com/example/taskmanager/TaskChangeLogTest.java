@@ -0,0 +1,105 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.exception.ChangeHistoryExpiredException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskChangeLog;
+import com.example.taskmanager.service.TaskChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Zero retention: every tombstone already written counts as expired when compact() runs
+@DataJpaTest(properties = "taskmanager.change-log.tombstone-retention=0s")
+@Import(TaskChangeLog.class)
+class TaskChangeLogTest {
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("syncuser");
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+
+        task = new Task();
+        task.setTitle("Synced Task");
+        task.setUserId(userId);
+        task = taskRepository.save(task);
+    }
+
+    @Test
+    void changesSince_ShouldReturnOnlyChangesAfterCursorWithCurrentState() {
+        // Arrange
+        taskChangeLog.record(userId, TaskChange.Type.CREATED, List.of(task.getId()));
+        long afterCreate = taskChangeLog.changesSince(0, null, userId).nextSince();
+        taskChangeLog.record(userId, TaskChange.Type.STATUS_CHANGED, List.of(task.getId()));
+        taskChangeLog.record(userId, TaskChange.Type.DELETED, List.of(99L));
+
+        // Act
+        TaskChanges changes = taskChangeLog.changesSince(afterCreate, null, userId);
+
+        // Assert
+        assertEquals(2, changes.changes().size());
+        assertEquals(TaskChange.Type.STATUS_CHANGED, changes.changes().get(0).type());
+        assertEquals("Synced Task", changes.changes().get(0).task().getTitle());
+        assertEquals(TaskChange.Type.DELETED, changes.changes().get(1).type());
+        assertNull(changes.changes().get(1).task());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    void compact_ShouldKeepOnlyNewestChangePerTask() {
+        // Arrange
+        taskChangeLog.record(userId, TaskChange.Type.CREATED, List.of(task.getId()));
+        taskChangeLog.record(userId, TaskChange.Type.UPDATED, List.of(task.getId()));
+        taskChangeLog.record(userId, TaskChange.Type.STATUS_CHANGED, List.of(task.getId()));
+
+        // Act
+        taskChangeLog.compact();
+
+        // Assert
+        List<TaskChange> remaining = taskChangeRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(TaskChange.Type.STATUS_CHANGED, remaining.get(0).getType());
+    }
+
+    @Test
+    void changesSince_WhenTombstonesBehindCursorWerePurged_ShouldThrowException() {
+        // Arrange
+        taskChangeLog.record(userId, TaskChange.Type.CREATED, List.of(task.getId()));
+        long staleCursor = taskChangeLog.changesSince(0, null, userId).nextSince();
+        taskChangeLog.record(userId, TaskChange.Type.DELETED, List.of(task.getId()));
+        taskChangeLog.compact();
+
+        // Act & Assert
+        assertThrows(ChangeHistoryExpiredException.class, () ->
+            taskChangeLog.changesSince(staleCursor, null, userId)
+        );
+        assertTrue(taskChangeLog.changesSince(0, null, userId).changes().isEmpty());
+    }
+}
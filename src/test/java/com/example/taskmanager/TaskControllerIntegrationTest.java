@@ -1,5 +1,8 @@
 package com.example.taskmanager;
 
+import com.example.taskmanager.config.StatementCounter;
+import com.example.taskmanager.config.StatementRecording;
+import com.example.taskmanager.config.StatementRecordingConfig;
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.repository.UserRepository;
@@ -10,20 +13,41 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(StatementRecordingConfig.class)
 @Transactional
 class TaskControllerIntegrationTest {
 
@@ -82,6 +106,406 @@ class TaskControllerIntegrationTest {
             .andExpect(jsonPath("$[0].title").value(task.getTitle()));
     }
 
+    @Test
+    void getAllTasks_WhenFieldsSelected_ShouldReturnOnlyThoseFields() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "title,id")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(task.getId()))
+            .andExpect(jsonPath("$[0].title").value(task.getTitle()))
+            .andExpect(jsonPath("$[0].completed").doesNotExist())
+            .andExpect(jsonPath("$[0].description").doesNotExist())
+            .andExpect(header().string("ETag", endsWith(";id,title\"")));
+    }
+
+    @Test
+    void getAllTasks_WhenFieldUnknown_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "id,description")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasks_WhenETagStillCurrent_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllTasks_WhenTaskChangedAfterETag_ShouldReturnNewList() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Versions move when a write commits, so the setup and the change must really commit here
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            mockMvc.perform(patch("/api/tasks/{id}/status", task.getId())
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completed\": true}"))
+                .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/tasks")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].completed").value(true));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void getAllTasks_WhenFieldsSelected_ShouldRunOneSelect() throws Exception {
+        taskRepository.flush();
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "id")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk()); // Warms The Identity Cache
+
+        try (StatementRecording recording = StatementRecording.start()) {
+            mockMvc.perform(get("/api/tasks")
+                    .param("fields", "id,title")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+            assertEquals(1, recording.total(), recording::toString);
+            assertEquals(1, recording.count(StatementCounter.Type.SELECT), recording::toString);
+        }
+    }
+
+    @Test
+    void getAllTasks_WhenPageCached_ShouldNotTouchTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk());
+
+        try (StatementRecording recording = StatementRecording.start()) {
+            mockMvc.perform(get("/api/tasks")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+            assertEquals(0, recording.total(), recording::toString);
+        }
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldRunTheSameStatementsForOneOrManyIds() throws Exception {
+        StringBuilder manyIds = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            Task extra = new Task();
+            extra.setTitle("Extra " + i);
+            extra.setUserId(user.getId());
+            manyIds.append(manyIds.length() == 0 ? "" : ", ").append(taskRepository.save(extra).getId());
+        }
+        taskRepository.flush();
+        mockMvc.perform(get("/api/tasks/stats")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk()); // Warms The Identity Cache And The Counts
+
+        Map<String, Long> one;
+        try (StatementRecording recording = StatementRecording.start()) {
+            mockMvc.perform(patch("/api/tasks/batch/status")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\": [" + task.getId() + "], \"completed\": true}"))
+                .andExpect(status().isOk());
+            taskRepository.flush(); // The Test's Transaction Holds The Change Row Back Until A Flush
+            one = statementsByKind(recording);
+        }
+        try (StatementRecording recording = StatementRecording.start()) {
+            mockMvc.perform(patch("/api/tasks/batch/status")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\": [" + manyIds + "], \"completed\": true}"))
+                .andExpect(status().isOk());
+            taskRepository.flush();
+
+            assertEquals(one, statementsByKind(recording), recording::toString); // No Statement Per Id
+        }
+    }
+
+    // Statement counts by leading keyword, leaving out pooled sequence fetches: whether a request needs one
+    // depends on how much of the allocation earlier tests used, not on the request
+    private static Map<String, Long> statementsByKind(StatementRecording recording) {
+        return recording.statements().stream()
+            .map(sql -> sql.trim().toLowerCase(Locale.ROOT))
+            .filter(sql -> !sql.contains("next value for"))
+            .collect(Collectors.groupingBy(sql -> sql.split("\\s+", 2)[0], TreeMap::new, Collectors.counting()));
+    }
+
+    @Test
+    void getTaskById_WhenETagStillCurrent_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", "W/\"" + task.getId() + "-" + task.getVersion() + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getChanges_ShouldReturnDeltasAndTombstonesSinceCursor() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Before Sync\"}"))
+            .andExpect(status().isOk());
+        String since = mockMvc.perform(get("/api/tasks/changes")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+            .andReturn().getResponse().getContentAsString()
+            .replaceAll(".*\"nextSince\":(\\d+).*", "$1");
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/changes")
+                .param("since", since)
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(1))
+            .andExpect(jsonPath("$.changes[0].taskId").value(task.getId()))
+            .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+            .andExpect(jsonPath("$.changes[0].task").doesNotExist())
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void streamEvents_ShouldPushCommittedChangesToOpenStream() throws Exception {
+        // The push happens after commit, so this test has to commit for real
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            MvcResult stream = mockMvc.perform(get("/api/tasks/events")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(patch("/api/tasks/{id}/status", task.getId())
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completed\": true}"))
+                .andExpect(status().isOk());
+
+            String events = awaitStreamContent(stream, "STATUS_CHANGED");
+            assertTrue(events.contains("event:task"));
+            assertTrue(events.contains("\"taskId\":" + task.getId()));
+            assertTrue(events.contains("\"completed\":true"));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void streamEvents_WhenLastEventIdGiven_ShouldReplayMissedChanges() throws Exception {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            mockMvc.perform(post("/api/tasks")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Seen\"}"))
+                .andExpect(status().isOk());
+            String lastSeen = mockMvc.perform(get("/api/tasks/changes")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andReturn().getResponse().getContentAsString()
+                .replaceAll(".*\"nextSince\":(\\d+).*", "$1");
+            mockMvc.perform(post("/api/tasks")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Missed While Offline\"}"))
+                .andExpect(status().isOk());
+
+            MvcResult stream = mockMvc.perform(get("/api/tasks/events")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .header("Last-Event-ID", lastSeen))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            String events = awaitStreamContent(stream, "Missed While Offline");
+            assertFalse(events.contains("\"title\":\"Seen\""));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void streamEvents_WhenBatchExceedsBuffer_ShouldSendResyncAndStayConnected() throws Exception {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            MvcResult stream = mockMvc.perform(get("/api/tasks/events")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            // More tasks in one commit than the default 256-event buffer holds
+            String batch = IntStream.range(0, 300)
+                .mapToObj(i -> "{\"title\": \"Bulk " + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+            mockMvc.perform(post("/api/tasks/batch")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(batch))
+                .andExpect(status().isOk());
+
+            String events = awaitStreamContent(stream, "event:resync");
+            assertFalse(events.contains("Bulk 0"));
+
+            mockMvc.perform(patch("/api/tasks/{id}/status", task.getId())
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completed\": true}"))
+                .andExpect(status().isOk());
+            awaitStreamContent(stream, "STATUS_CHANGED");
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void exportTasks_WhenGzipAccepted_ShouldStreamCompressedNdjson() throws Exception {
+        // The export reads on another thread, so the task has to be committed for it to see it
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            MvcResult export = mockMvc.perform(get("/api/tasks/export")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            MvcResult result = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+            byte[] compressed = result.getResponse().getContentAsByteArray();
+            String body;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            assertTrue(body.startsWith("{\"id\":" + task.getId() + ","));
+            assertTrue(body.endsWith("}\n"));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void exportTasks_WhenFormatUnknown_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/export")
+                .param("format", "xml")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTasks_WhenAsync_ShouldReturnJobThatCanBePolledToCompletion() throws Exception {
+        // The job runs on its own thread, so the user has to be committed for it to see it
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            String location = mockMvc.perform(post("/api/tasks/import")
+                    .param("async", "true")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType("application/x-ndjson")
+                    .content("{\"title\": \"Imported\"}\n{\"description\": \"No title\"}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getHeader("Location");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            String state;
+            do {
+                assertTrue(System.nanoTime() < deadline, "import never finished");
+                Thread.sleep(10);
+                state = mockMvc.perform(get(location)
+                        .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            } while (state.contains("QUEUED") || state.contains("RUNNING"));
+
+            mockMvc.perform(get(location)
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void getImport_WhenJobUnknown_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/import/{jobId}", "no-such-job")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchTasks_ShouldFindCommittedTaskByWordPrefix() throws Exception {
+        // The index is updated after commit
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            mockMvc.perform(post("/api/tasks")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Renew passport\", \"description\": \"Photos first\"}"))
+                .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "pass pho")
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Renew passport"));
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void getTaskStats_ShouldCountCompletionOfToday() throws Exception {
+        mockMvc.perform(patch("/api/tasks/" + task.getId() + "/status")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completed\": true}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.completedAt").exists());
+
+        mockMvc.perform(get("/api/tasks/stats")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.completed").value(1))
+            .andExpect(jsonPath("$.open").value(0))
+            .andExpect(jsonPath("$.completedPerDay.length()").value(30))
+            .andExpect(jsonPath("$.completedPerDay[29].completed").value(1));
+    }
+
     @Test
     void getTaskById_ShouldReturnTask() throws Exception {
         mockMvc.perform(get("/api/tasks/{id}", task.getId())
@@ -131,6 +555,42 @@ class TaskControllerIntegrationTest {
             .andExpect(jsonPath("$.completed").value(true));
     }
 
+    @Test
+    void updateTaskStatus_WhenReopening_ShouldClearCompletedAt() throws Exception {
+        Task done = new Task();
+        done.setTitle("Done");
+        done.setUserId(user.getId());
+        done.setCompleted(true);
+        done.setCompletedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        done = taskRepository.save(done);
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", done.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completed\": false}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.completed").value(false))
+            .andExpect(jsonPath("$.completedAt").doesNotExist());
+    }
+
+    @Test
+    void deleteTask_WhenCompleted_ShouldDeleteTask() throws Exception {
+        Task done = new Task();
+        done.setTitle("Done");
+        done.setUserId(user.getId());
+        done.setCompleted(true);
+        done.setCompletedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        done = taskRepository.save(done);
+
+        mockMvc.perform(delete("/api/tasks/{id}", done.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", done.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void deleteTask_ShouldDeleteTask() throws Exception {
         mockMvc.perform(delete("/api/tasks/{id}", task.getId())
@@ -142,4 +602,121 @@ class TaskControllerIntegrationTest {
                 .header("Authorization", "Bearer " + jwtToken))
             .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deleteTask_WhenTaskBelongsToDifferentUser_ShouldReturnForbidden() throws Exception {
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setPassword(passwordEncoder.encode("password123"));
+        other = userRepository.save(other);
+        String otherToken = TestJwtTokenUtil.generateToken(userDetailsService.loadUserByUsername(other.getUsername()));
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + otherToken))
+            .andExpect(status().isForbidden());
+
+        // Verify task is still there for its owner
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void createTasks_ShouldCreateAllTasksInBatch() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\": \"Batch 1\"}, {\"title\": \"Batch 2\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].status").value("CREATED"))
+            .andExpect(jsonPath("$[1].task.title").value("Batch 2"));
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldReportPerItemResults() throws Exception {
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setPassword(passwordEncoder.encode("password123"));
+        other = userRepository.save(other);
+        Task otherTask = new Task();
+        otherTask.setTitle("Other Task");
+        otherTask.setUserId(other.getId());
+        otherTask = taskRepository.save(otherTask);
+        long missingId = otherTask.getId() + 1000;
+
+        mockMvc.perform(patch("/api/tasks/batch/status")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + task.getId() + ", " + otherTask.getId() + ", " + missingId + "], \"completed\": true}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$[1].status").value("FORBIDDEN"))
+            .andExpect(jsonPath("$[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void deleteTasks_ShouldDeleteOwnedTasks() throws Exception {
+        mockMvc.perform(delete("/api/tasks/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + task.getId() + "]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("DELETED"));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createTasks_WhenBatchIsEmpty_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCacheStats_ShouldReportTaskCacheHits() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                    .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        }
+
+        User admin = new User();
+        admin.setUsername("testadmin"); // Listed In application-test.properties
+        admin.setPassword(passwordEncoder.encode("password123"));
+        userRepository.save(admin);
+        String adminToken = TestJwtTokenUtil.generateToken(userDetailsService.loadUserByUsername(admin.getUsername()));
+
+        mockMvc.perform(get("/api/admin/caches")
+                .header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.name == 'tasks')].hits").value(everyItem(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    void getCacheStats_WhenNotAdmin_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/api/admin/caches")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isForbidden());
+    }
+
+    private static String awaitStreamContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected)) {
+            assertTrue(System.nanoTime() < deadline, "never streamed " + expected + ", got: " + content);
+            Thread.sleep(10);
+            content = stream.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
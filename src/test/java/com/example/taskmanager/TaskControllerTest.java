@@ -4,9 +4,13 @@ import com.example.taskmanager.config.TestSecurityConfig;
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.UserIdentityCache;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.RateLimitExceededException;
 import com.example.taskmanager.exception.UnauthorizedTaskAccessException;
+import com.example.taskmanager.security.RateLimits;
 import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.TaskSlice;
 import com.example.taskmanager.controller.TaskController;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -30,7 +35,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, UserIdentityCache.class})
 class TaskControllerTest {
 
     @Autowired
@@ -48,6 +53,9 @@ class TaskControllerTest {
     @MockBean
     private UserDetailsService userDetailsService;
 
+    @MockBean
+    private RateLimits rateLimits;
+
     private Task task1;
     private User user;
     private String jwtToken;
@@ -88,8 +96,8 @@ class TaskControllerTest {
     @Test
     void getAllTasks_ShouldReturnTasks() throws Exception {
         // Arrange
-        when(taskService.getAllTasks(null, "id", user.getId()))
-            .thenReturn(Arrays.asList(task1));
+        when(taskService.getAllTasks(null, "id", null, null, user.getId()))
+            .thenReturn(new TaskSlice(Arrays.asList(task1), null, false));
 
         // Act & Assert
         mockMvc.perform(get("/api/tasks")
@@ -102,6 +110,53 @@ class TaskControllerTest {
             .andExpect(jsonPath("$[0].completed").value(task1.isCompleted()));
     }
 
+    @Test
+    void getAllTasks_WhenTokenHasNoExpiration_ShouldAuthenticateFromCache() throws Exception {
+        // Arrange
+        String tokenWithoutExp = TestJwtTokenUtil.generateTokenWithoutExpiration(
+            userDetailsService.loadUserByUsername("testuser"));
+        when(taskService.getAllTasks(null, "id", null, null, user.getId()))
+            .thenReturn(new TaskSlice(Arrays.asList(task1), null, false));
+
+        // Act & Assert: The First Request Verifies And Caches The Token, The Second Is Served From The Cache
+        for (int request = 0; request < 2; request++) {
+            mockMvc.perform(get("/api/tasks")
+                    .header("Authorization", "Bearer " + tokenWithoutExp)
+                    .requestAttr("userId", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(task1.getId()));
+        }
+    }
+
+    @Test
+    void getAllTasks_WhenRateLimited_ShouldReturn429WithRetryAfter() throws Exception {
+        // Arrange
+        doThrow(new RateLimitExceededException(7))
+            .when(rateLimits).checkTaskRequest(user.getId(), false);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "7"));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void deleteTask_WhenWriteBudgetUsedUp_ShouldReturn429WithoutDeleting() throws Exception {
+        // Arrange
+        doThrow(new RateLimitExceededException(3))
+            .when(rateLimits).checkTaskRequest(user.getId(), true);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/tasks/{id}", task1.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "3"));
+        verify(rateLimits).checkTaskRequest(user.getId(), true);
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() throws Exception {
         // Arrange
@@ -224,4 +279,21 @@ class TaskControllerTest {
                 .requestAttr("userId", user.getId()))
             .andExpect(status().isForbidden());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getAllTasks_WhenNextPageExists_ShouldReturnCursorHeaders() throws Exception {
+        // Arrange
+        when(taskService.getAllTasks(null, "id", null, 1, user.getId()))
+            .thenReturn(new TaskSlice(Arrays.asList(task1), "next-cursor", true));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tasks")
+                .param("size", "1")
+                .header("Authorization", "Bearer " + jwtToken)
+                .requestAttr("userId", user.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(task1.getId()))
+            .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next-cursor"))
+            .andExpect(header().string("Link", containsString("cursor=next-cursor")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskExporter;
+import com.example.taskmanager.service.TaskFileFormat;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TaskExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskExporterTest {
+
+    private static final int ROWS = 20_000; // Forty Fetches Of 500, Plenty To Show The Context Stays Flat
+
+    @Autowired
+    private TaskExporter taskExporter;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("exportuser");
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void export_WhenUserHasManyTasks_ShouldKeepPersistenceContextFlat() throws Exception {
+        // Arrange
+        entityManager.createNativeQuery("INSERT INTO task (id, title, description, completed, user_id, version) "
+                + "SELECT 10000000 + X, 'Task ' || X, 'Exported task ' || X, FALSE, :userId, 0 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")")
+            .setParameter("userId", userId)
+            .executeUpdate();
+        Session session = entityManager.unwrap(Session.class);
+        ManagedEntityProbe probe = new ManagedEntityProbe(session);
+
+        // Act
+        long exported = taskExporter.export(userId, TaskFileFormat.NDJSON, probe);
+
+        // Assert
+        assertEquals(ROWS, exported);
+        assertEquals(ROWS, probe.lines);
+        // The user saved in setUp plus at most the row being written, however many rows went by
+        assertTrue(probe.maxManagedEntities <= 2, "persistence context grew to " + probe.maxManagedEntities);
+    }
+
+    @Test
+    void export_WhenCsv_ShouldQuoteFieldsThatNeedIt() throws Exception {
+        // Arrange
+        Task task = new Task();
+        task.setTitle("Plain");
+        task.setDescription("Milk, eggs and \"good\" bread");
+        task.setUserId(userId);
+        task = taskRepository.save(task);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        taskExporter.export(userId, TaskFileFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,title,description,completed\r\n"
+                + task.getId() + ",Plain,\"Milk, eggs and \"\"good\"\" bread\",false\r\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    // Discards the export, sampling how many entities the session holds every 10,000 lines
+    private static class ManagedEntityProbe extends OutputStream {
+        private final Session session;
+        private long lines;
+        private int maxManagedEntities;
+
+        ManagedEntityProbe(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 1_000 == 0) {
+                maxManagedEntities = Math.max(maxManagedEntities, session.getStatistics().getEntityCount());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.exception.ImportTooLargeException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskChangeLog;
+import com.example.taskmanager.service.TaskFileFormat;
+import com.example.taskmanager.service.TaskImportStatus;
+import com.example.taskmanager.service.TaskImporter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"taskmanager.import.chunk-size=100", "taskmanager.import.max-bytes=16KB"})
+@Import({TaskImporter.class, TaskChangeLog.class, TaskImporterTest.FixedClock.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskImporterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T12:00:00Z");
+
+    @TestConfiguration
+    static class FixedClock {
+        @Bean
+        Clock clock() {
+            return Clock.fixed(NOW, ZoneOffset.UTC);
+        }
+    }
+
+    @Autowired
+    private TaskImporter taskImporter;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("importuser");
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void importTasks_WhenNdjsonHasBadLines_ShouldImportTheRestAndReportLineNumbers() throws Exception {
+        // Arrange
+        InputStream body = body("""
+            {"title": "First", "id": 999, "userId": 12345}
+            {not json
+
+            {"description": "No title"}
+            {"title": "Last", "completed": true}
+            """);
+
+        // Act
+        TaskImportStatus status = taskImporter.importTasks(userId, TaskFileFormat.NDJSON, body);
+
+        // Assert
+        assertEquals(TaskImportStatus.State.COMPLETED, status.state());
+        assertEquals(2, status.imported());
+        assertEquals(2, status.rejected());
+        assertEquals(2, status.errors().get(0).line());
+        assertTrue(status.errors().get(0).message().startsWith("malformed JSON"));
+        assertEquals(new TaskImportStatus.LineError(4, "title is required"), status.errors().get(1));
+
+        List<Task> imported = userTasks();
+        assertEquals(List.of("First", "Last"), imported.stream().map(Task::getTitle).toList());
+        assertNotEquals(999L, imported.get(0).getId());
+        assertTrue(imported.get(1).isCompleted());
+        assertEquals(NOW, imported.get(1).getCompletedAt());
+    }
+
+    @Test
+    void importTasks_WhenMoreRowsThanChunkSize_ShouldClearPersistenceContextAfterEachChunk() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            ndjson.append("{\"title\": \"Task ").append(i).append("\"}\n");
+        }
+
+        // Act
+        TaskImportStatus status = taskImporter.importTasks(userId, TaskFileFormat.NDJSON, body(ndjson.toString()));
+
+        // Assert
+        assertEquals(250, status.imported());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(250, userTasks().size());
+        assertEquals(250, taskChangeRepository.count()); // One CREATED Row Per Task For Delta Sync
+    }
+
+    @Test
+    void importTasks_WhenCsvHasQuotedFields_ShouldParseThemAndIgnoreIdColumn() throws Exception {
+        // Arrange
+        InputStream body = body("\uFEFFid,title,description,completed\r\n"
+            + "7,\"Milk, eggs\",\"Say \"\"hi\"\"\r\nthen leave\",TRUE\r\n"
+            + "8,Broken,,maybe\r\n"
+            + "9,Plain,,\r\n");
+
+        // Act
+        TaskImportStatus status = taskImporter.importTasks(userId, TaskFileFormat.CSV, body);
+
+        // Assert
+        assertEquals(2, status.imported());
+        assertEquals(List.of(new TaskImportStatus.LineError(4, "completed must be true or false")), status.errors());
+
+        List<Task> imported = userTasks();
+        assertEquals("Milk, eggs", imported.get(0).getTitle());
+        assertEquals("Say \"hi\"\r\nthen leave", imported.get(0).getDescription());
+        assertTrue(imported.get(0).isCompleted());
+        assertEquals("Plain", imported.get(1).getTitle());
+        assertNull(imported.get(1).getDescription());
+        assertFalse(imported.get(1).isCompleted());
+    }
+
+    @Test
+    void importTasks_WhenCsvHasNoTitleColumn_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> taskImporter.importTasks(userId, TaskFileFormat.CSV, body("name,completed\nA,true\n")));
+    }
+
+    @Test
+    void startImport_WhenBodyLargerThanMaxBytes_ShouldStopSpoolingAndImportNothing() {
+        // Arrange
+        InputStream body = body(rows(1_000)); // About 24KB, Over The 16KB Cap
+
+        // Act & Assert
+        assertThrows(ImportTooLargeException.class, () -> taskImporter.startImport(userId, TaskFileFormat.NDJSON, body));
+        assertTrue(userTasks().isEmpty());
+    }
+
+    @Test
+    void importTasks_WhenChunkedBodyLargerThanMaxBytes_ShouldThrowAfterTheChunksAlreadyRead() {
+        // Arrange
+        taskImporter.checkSize(-1); // Chunked, So Only The Limited Stream Can Catch It
+
+        // Act & Assert
+        ImportTooLargeException e = assertThrows(ImportTooLargeException.class,
+            () -> taskImporter.importTasks(userId, TaskFileFormat.NDJSON, body(rows(1_000))));
+        assertEquals("Import body is larger than 16384 bytes", e.getMessage());
+        int imported = userTasks().size();
+        assertTrue(imported > 0 && imported < 1_000);
+        assertEquals(0, imported % 100); // Whole Chunks Only
+    }
+
+    @Test
+    void checkSize_WhenContentLengthOverMaxBytes_ShouldThrow() {
+        // Act & Assert
+        assertThrows(ImportTooLargeException.class, () -> taskImporter.checkSize(16 * 1024 + 1));
+        taskImporter.checkSize(16 * 1024);
+        taskImporter.checkSize(-1); // Chunked, Unknown Length
+    }
+
+    private static String rows(int count) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"title\": \"Task ").append(i).append("\"}\n");
+        }
+        return ndjson.toString();
+    }
+
+    private List<Task> userTasks() {
+        return taskRepository.findAll().stream()
+            .filter(task -> task.getUserId().equals(userId))
+            .sorted(Comparator.comparing(Task::getId))
+            .toList();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
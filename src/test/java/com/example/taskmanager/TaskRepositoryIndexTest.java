@@ -0,0 +1,181 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskSummary;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskChangeRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the SQL each repository query actually generates through H2 EXPLAIN against the Flyway schema
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.example.taskmanager.TaskRepositoryIndexTest$CapturingStatementInspector")
+class TaskRepositoryIndexTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findByUserIdOrderById_ShouldUseUserIdIdIndex() {
+        taskRepository.findByUserIdOrderById(1L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdAndIdGreaterThanOrderById_ShouldUseUserIdIdIndex() {
+        taskRepository.findByUserIdAndIdGreaterThanOrderById(1L, 5L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdAndCompletedOrderById_ShouldUseUserIdCompletedIdIndex() {
+        taskRepository.findByUserIdAndCompletedOrderById(1L, true, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_COMPLETED_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdAndCompletedAndIdGreaterThanOrderById_ShouldUseUserIdCompletedIdIndex() {
+        taskRepository.findByUserIdAndCompletedAndIdGreaterThanOrderById(1L, false, 5L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_COMPLETED_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdOrderByTitle_ShouldUseUserIdTitleIndex() {
+        taskRepository.findByUserIdOrderByTitle(1L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_TITLE_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdAfterNullTitleOrderByTitle_ShouldUseUserIdTitleIndex() {
+        taskRepository.findByUserIdAfterNullTitleOrderByTitle(1L, 5L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_TITLE_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdAfterTitleOrderByTitle_ShouldUseUserIdTitleIndex() {
+        taskRepository.findByUserIdAfterTitleOrderByTitle(1L, "Task", 5L, Limit.of(10), Task.class);
+        assertUsesIndex("IDX_TASK_USER_ID_TITLE_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void findByUserIdOrderById_WhenReadAsSummary_ShouldSelectOnlySummaryColumns() {
+        // Arrange
+        User user = new User();
+        user.setUsername("summaryuser");
+        user.setPassword("password");
+        Long userId = userRepository.save(user).getId();
+        Task task = new Task();
+        task.setTitle("Summary task");
+        task.setDescription("Long description that a list never needs");
+        task.setCompleted(true);
+        task.setUserId(userId);
+        Long taskId = taskRepository.saveAndFlush(task).getId();
+        CapturingStatementInspector.STATEMENTS.clear();
+
+        // Act
+        List<TaskSummary> summaries = taskRepository.findByUserIdOrderById(userId, Limit.of(10), TaskSummary.class);
+
+        // Assert
+        assertEquals(List.of(new TaskSummary(taskId, "Summary task", true)), summaries);
+        String sql = CapturingStatementInspector.STATEMENTS.get(CapturingStatementInspector.STATEMENTS.size() - 1);
+        assertFalse(sql.contains("description"), () -> "Summary query read the description:\n" + sql);
+        assertUsesIndex("IDX_TASK_USER_ID_ID");
+        assertIndexSorted();
+    }
+
+    @Test
+    void countCompletedPerDay_ShouldUseUserIdCompletedAtIndex() {
+        taskRepository.countCompletedPerDay(1L, Instant.EPOCH);
+        assertUsesIndex("IDX_TASK_USER_ID_COMPLETED_AT");
+    }
+
+    @Test
+    void findByUsername_ShouldUseUniqueUsernameIndex() {
+        userRepository.findByUsername("testuser");
+        assertUsesIndex("UX_APP_USER_USERNAME");
+    }
+
+    @Test
+    void findTaskChangesSince_ShouldUseUserIdIdIndex() {
+        taskChangeRepository.findByUserIdAndIdGreaterThanOrderById(1L, 5L, Limit.of(10));
+        assertUsesIndex("IDX_TASK_CHANGE_USER_ID_ID");
+        assertIndexSorted();
+    }
+
+    private void assertUsesIndex(String indexName) {
+        String plan = explainLastStatement();
+        assertTrue(plan.contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected full scan in plan:\n" + plan);
+    }
+
+    // H2 marks plans whose ORDER BY is satisfied by walking the index, i.e. no separate sort step
+    private void assertIndexSorted() {
+        String plan = explainLastStatement();
+        assertTrue(plan.contains("index sorted"), () -> "Expected index-ordered scan in plan:\n" + plan);
+    }
+
+    private String explainLastStatement() {
+        assertFalse(CapturingStatementInspector.STATEMENTS.isEmpty(), "No SQL was captured");
+        return explain(CapturingStatementInspector.STATEMENTS.get(CapturingStatementInspector.STATEMENTS.size() - 1));
+    }
+
+    private String explain(String sql) {
+        int parameterCount = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            // Values only need to be type-compatible; the plan is what we're after
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setString(i, "1");
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskChangedEvent;
+import com.example.taskmanager.service.TaskSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(
+            taskRepository, mock(EntityManager.class), mock(PlatformTransactionManager.class), registry);
+    }
+
+    @Test
+    void search_ShouldRankTitleOverDescriptionAndExactOverPrefix() {
+        // Arrange
+        index.index(task(1L, "Write quarterly report", null));
+        index.index(task(2L, "Groceries", "Pick up the report from the printer"));
+        index.index(task(3L, "Reporting dashboard", null));
+
+        // Act
+        List<TaskSearchIndex.Hit> hits = index.search(1L, "report", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L), hits.stream().map(TaskSearchIndex.Hit::taskId).toList());
+        assertEquals(1, registry.get("task.search").timer().count());
+    }
+
+    @Test
+    void search_WhenSeveralTerms_ShouldRequireAllOfThemAsPrefixes() {
+        // Arrange
+        index.index(task(1L, "Book flights to Lisbon", null));
+        index.index(task(2L, "Book dentist", null));
+
+        // Act
+        List<TaskSearchIndex.Hit> hits = index.search(1L, "bo lis", 10);
+
+        // Assert
+        assertEquals(List.of(1L), hits.stream().map(TaskSearchIndex.Hit::taskId).toList());
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        // Arrange
+        index.index(task(1L, "Café Müller booking", null));
+
+        // Act & Assert
+        assertEquals(1, index.search(1L, "CAFE mull", 10).size());
+    }
+
+    @Test
+    void onTaskChanged_ShouldReplaceEditedTermsAndDropDeletedTasks() {
+        // Arrange
+        index.index(task(1L, "Old title", null));
+        index.index(task(2L, "Old notes", null));
+
+        // Act
+        index.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(1L), List.of(task(1L, "New title", null))));
+        index.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.DELETED, List.of(2L)));
+
+        // Assert
+        assertTrue(index.search(1L, "old", 10).isEmpty());
+        assertEquals(1, index.search(1L, "new", 10).size());
+        assertEquals(1.0, registry.get("task.search.index.tasks").gauge().value());
+    }
+
+    @Test
+    void onTaskChanged_WhenAnOlderEditArrivesLate_ShouldKeepTheNewerText() {
+        // Arrange
+        index.onTaskChanged(updated(task(1L, "Second draft", null, 3L)));
+
+        // Act
+        index.onTaskChanged(updated(task(1L, "First draft", null, 2L)));
+
+        // Assert
+        assertEquals(1, index.search(1L, "second", 10).size());
+        assertTrue(index.search(1L, "first", 10).isEmpty());
+    }
+
+    @Test
+    void onTaskChanged_WhenAnEditArrivesAfterTheDelete_ShouldNotBringTheTaskBack() {
+        // Arrange
+        index.index(task(1L, "Old title", null, 1L));
+        index.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.DELETED, List.of(1L)));
+
+        // Act
+        index.onTaskChanged(updated(task(1L, "Edited title", null, 2L)));
+
+        // Assert
+        assertTrue(index.search(1L, "title", 10).isEmpty());
+        assertEquals(0.0, registry.get("task.search.index.tasks").gauge().value());
+    }
+
+    @Test
+    void rebuild_WhenTasksChangeMeanwhile_ShouldKeepServingAndEndWithTheNewestText() {
+        // Arrange
+        index.index(task(1L, "Before rebuild", null, 1L));
+        when(taskRepository.streamAllOrderById()).thenAnswer(invocation -> {
+            // Committed While The Rebuild Streams; The Stream Still Returns What It Read Before
+            index.onTaskChanged(updated(task(1L, "Edited meanwhile", null, 3L)));
+            index.onTaskChanged(new TaskChangedEvent(1L, TaskChange.Type.DELETED, List.of(2L)));
+            assertEquals(1, index.search(1L, "edited", 10).size()); // Searches Use The Old Index Meanwhile
+            return Stream.of(task(1L, "Stale read", null, 2L), task(2L, "Deleted meanwhile", null, 1L));
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(1, index.search(1L, "edited", 10).size());
+        assertTrue(index.search(1L, "stale", 10).isEmpty());
+        assertTrue(index.search(1L, "deleted", 10).isEmpty());
+        assertEquals(1.0, registry.get("task.search.index.tasks").gauge().value());
+    }
+
+    @Test
+    void search_ShouldOnlySeeTheCallersTasks() {
+        // Arrange
+        Task foreign = task(1L, "Secret plan", null);
+        foreign.setUserId(2L);
+        index.index(foreign);
+
+        // Act & Assert
+        assertTrue(index.search(1L, "secret", 10).isEmpty());
+        assertEquals(1, index.search(2L, "secret", 10).size());
+    }
+
+    @Test
+    void search_WhenQueryHasNoWords_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> index.search(1L, "  --- ", 10));
+    }
+
+    private static TaskChangedEvent updated(Task task) {
+        return new TaskChangedEvent(1L, TaskChange.Type.UPDATED, List.of(task.getId()), List.of(task));
+    }
+
+    private static Task task(Long id, String title, String description, Long version) {
+        Task task = task(id, title, description);
+        task.setVersion(version);
+        return task;
+    }
+
+    private static Task task(Long id, String title, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setUserId(1L);
+        return task;
+    }
+}
@@ -2,9 +2,21 @@ package com.example.taskmanager;
 
 import com.example.taskmanager.model.User;
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.TaskChange;
+import com.example.taskmanager.model.TaskSummary;
 import com.example.taskmanager.exception.TaskNotFoundException;
 import com.example.taskmanager.exception.UnauthorizedTaskAccessException;
+import com.example.taskmanager.service.TaskBatchResult;
+import com.example.taskmanager.service.TaskCache;
+import com.example.taskmanager.service.TaskChangeLog;
+import com.example.taskmanager.service.TaskChangedEvent;
+import com.example.taskmanager.service.TaskCountsChangedEvent;
+import com.example.taskmanager.service.TaskSearchIndex;
 import com.example.taskmanager.service.TaskServiceImpl;
+import com.example.taskmanager.service.TaskSlice;
+import com.example.taskmanager.service.TaskStatistics;
+import com.example.taskmanager.service.TaskSummarySlice;
+import com.example.taskmanager.service.TaskVersions;
 import com.example.taskmanager.repository.TaskRepository;
 import com.example.taskmanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,9 +24,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +48,20 @@ class TaskServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final Limit FIRST_PAGE_LIMIT = Limit.of(TaskServiceImpl.DEFAULT_PAGE_SIZE + 1);
+
     private TaskServiceImpl taskService;
     private User user;
     private Task task1;
@@ -37,7 +69,10 @@ class TaskServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        taskService = new TaskServiceImpl(taskRepository);
+        TaskVersions taskVersions = new TaskVersions(100);
+        taskService = new TaskServiceImpl(
+            taskRepository, new TaskCache(taskVersions, 100, 100, Duration.ofMinutes(10)), taskVersions, taskChangeLog,
+            taskSearchIndex, taskStatistics, eventPublisher);
 
         // Create test user
         user = new User();
@@ -63,44 +98,126 @@ class TaskServiceImplTest {
     @Test
     void getAllTasks_WhenCompletedIsNull_ShouldReturnAllTasks() {
         // Arrange
-        when(taskRepository.findByUserIdOrderById(user.getId()))
+        when(taskRepository.findByUserIdOrderById(user.getId(), FIRST_PAGE_LIMIT, Task.class))
             .thenReturn(Arrays.asList(task1, task2));
 
         // Act
-        List<Task> tasks = taskService.getAllTasks(null, "id", user.getId());
+        TaskSlice tasks = taskService.getAllTasks(null, "id", null, null, user.getId());
 
         // Assert
-        assertEquals(2, tasks.size());
-        verify(taskRepository).findByUserIdOrderById(user.getId());
+        assertEquals(2, tasks.content().size());
+        assertFalse(tasks.hasNext());
+        assertNull(tasks.nextCursor());
+        verify(taskRepository).findByUserIdOrderById(user.getId(), FIRST_PAGE_LIMIT, Task.class);
     }
 
     @Test
     void getAllTasks_WhenCompletedIsTrue_ShouldReturnCompletedTasks() {
         // Arrange
-        when(taskRepository.findByUserIdAndCompletedOrderById(user.getId(), true))
+        when(taskRepository.findByUserIdAndCompletedOrderById(user.getId(), true, FIRST_PAGE_LIMIT, Task.class))
             .thenReturn(Arrays.asList(task2));
 
         // Act
-        List<Task> tasks = taskService.getAllTasks(true, "id", user.getId());
+        TaskSlice tasks = taskService.getAllTasks(true, "id", null, null, user.getId());
 
         // Assert
-        assertEquals(1, tasks.size());
-        assertTrue(tasks.get(0).isCompleted());
-        verify(taskRepository).findByUserIdAndCompletedOrderById(user.getId(), true);
+        assertEquals(1, tasks.content().size());
+        assertTrue(tasks.content().get(0).isCompleted());
+        verify(taskRepository).findByUserIdAndCompletedOrderById(user.getId(), true, FIRST_PAGE_LIMIT, Task.class);
     }
 
     @Test
     void getAllTasks_WhenSortByTitle_ShouldReturnTasksSortedByTitle() {
         // Arrange
-        when(taskRepository.findByUserIdOrderByTitle(user.getId()))
+        when(taskRepository.findByUserIdOrderByTitle(user.getId(), FIRST_PAGE_LIMIT, Task.class))
+            .thenReturn(Arrays.asList(task1, task2));
+
+        // Act
+        TaskSlice tasks = taskService.getAllTasks(null, "title", null, null, user.getId());
+
+        // Assert
+        assertEquals(2, tasks.content().size());
+        verify(taskRepository).findByUserIdOrderByTitle(user.getId(), FIRST_PAGE_LIMIT, Task.class);
+    }
+
+    @Test
+    void getAllTasks_WhenMoreRowsThanPageSize_ShouldReturnCursorForNextPage() {
+        // Arrange
+        when(taskRepository.findByUserIdOrderById(user.getId(), Limit.of(2), Task.class))
+            .thenReturn(Arrays.asList(task1, task2));
+        when(taskRepository.findByUserIdAndIdGreaterThanOrderById(user.getId(), task1.getId(), Limit.of(2), Task.class))
+            .thenReturn(Arrays.asList(task2));
+
+        // Act
+        TaskSlice firstPage = taskService.getAllTasks(null, "id", null, 1, user.getId());
+        TaskSlice secondPage = taskService.getAllTasks(null, "id", firstPage.nextCursor(), 1, user.getId());
+
+        // Assert
+        assertEquals(List.of(task1), firstPage.content());
+        assertTrue(firstPage.hasNext());
+        assertEquals(List.of(task2), secondPage.content());
+        assertFalse(secondPage.hasNext());
+    }
+
+    @Test
+    void getAllTasks_WhenSortByTitleWithCursor_ShouldSeekPastLastTitle() {
+        // Arrange
+        when(taskRepository.findByUserIdOrderByTitle(user.getId(), Limit.of(2), Task.class))
             .thenReturn(Arrays.asList(task1, task2));
+        when(taskRepository.findByUserIdAfterTitleOrderByTitle(user.getId(), task1.getTitle(), task1.getId(), Limit.of(2), Task.class))
+            .thenReturn(Arrays.asList(task2));
+
+        // Act
+        TaskSlice firstPage = taskService.getAllTasks(null, "title", null, 1, user.getId());
+        TaskSlice secondPage = taskService.getAllTasks(null, "title", firstPage.nextCursor(), 1, user.getId());
+
+        // Assert
+        assertEquals(List.of(task2), secondPage.content());
+        verify(taskRepository).findByUserIdAfterTitleOrderByTitle(user.getId(), task1.getTitle(), task1.getId(), Limit.of(2), Task.class);
+    }
+
+    @Test
+    void getTaskSummaries_WhenMoreRowsThanPageSize_ShouldReadSummariesAndReturnCursor() {
+        // Arrange
+        TaskSummary summary1 = new TaskSummary(task1.getId(), task1.getTitle(), false);
+        TaskSummary summary2 = new TaskSummary(task2.getId(), task2.getTitle(), true);
+        when(taskRepository.findByUserIdAndCompletedOrderById(user.getId(), false, Limit.of(2), TaskSummary.class))
+            .thenReturn(Arrays.asList(summary1, summary2));
+        when(taskRepository.findByUserIdAndCompletedAndIdGreaterThanOrderById(user.getId(), false, task1.getId(), Limit.of(2), TaskSummary.class))
+            .thenReturn(Arrays.asList(summary2));
 
         // Act
-        List<Task> tasks = taskService.getAllTasks(null, "title", user.getId());
+        TaskSummarySlice firstPage = taskService.getTaskSummaries(false, "id", null, 1, user.getId());
+        TaskSummarySlice secondPage = taskService.getTaskSummaries(false, "id", firstPage.nextCursor(), 1, user.getId());
 
         // Assert
-        assertEquals(2, tasks.size());
-        verify(taskRepository).findByUserIdOrderByTitle(user.getId());
+        assertEquals(List.of(summary1), firstPage.content());
+        assertTrue(firstPage.hasNext());
+        assertEquals(List.of(summary2), secondPage.content());
+        assertFalse(secondPage.hasNext());
+    }
+
+    @Test
+    void getAllTasks_WhenSizeAboveCap_ShouldClampToMaxPageSize() {
+        // Arrange
+        Limit cappedLimit = Limit.of(TaskServiceImpl.MAX_PAGE_SIZE + 1);
+        when(taskRepository.findByUserIdOrderById(user.getId(), cappedLimit, Task.class))
+            .thenReturn(Arrays.asList(task1, task2));
+
+        // Act
+        taskService.getAllTasks(null, "id", null, 10_000, user.getId());
+
+        // Assert
+        verify(taskRepository).findByUserIdOrderById(user.getId(), cappedLimit, Task.class);
+    }
+
+    @Test
+    void getAllTasks_WhenCursorIsInvalid_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.getAllTasks(null, "id", "not-a-cursor", null, user.getId())
+        );
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
@@ -148,6 +265,35 @@ class TaskServiceImplTest {
         verify(taskRepository).findById(otherUserTask.getId());
     }
 
+    @Test
+    void getTaskById_WhenCalledTwice_ShouldHitRepositoryOnce() {
+        // Arrange
+        when(taskRepository.findById(task1.getId()))
+            .thenReturn(Optional.of(task1));
+
+        // Act
+        Task first = taskService.getTaskById(task1.getId(), user.getId());
+        first.setTitle("Changed By Caller");
+        Task second = taskService.getTaskById(task1.getId(), user.getId());
+
+        // Assert
+        assertEquals("Task 1", second.getTitle());
+        verify(taskRepository, times(1)).findById(task1.getId());
+    }
+
+    @Test
+    void getTaskById_WhenCachedTaskBelongsToDifferentUser_ShouldThrowException() {
+        // Arrange
+        when(taskRepository.findById(task1.getId()))
+            .thenReturn(Optional.of(task1));
+        taskService.getTaskById(task1.getId(), user.getId());
+
+        // Act & Assert
+        assertThrows(UnauthorizedTaskAccessException.class, () ->
+            taskService.getTaskById(task1.getId(), 2L)
+        );
+    }
+
     @Test
     void createTask_ShouldSetUserIdAndSaveTask() {
         // Arrange
@@ -196,10 +342,11 @@ class TaskServiceImplTest {
     @Test
     void updateTaskStatus_WhenTaskExistsAndBelongsToUser_ShouldUpdateStatus() {
         // Arrange
+        task1.setCompleted(true);
+        when(taskRepository.updateCompletedByIdAndUserId(eq(task1.getId()), eq(user.getId()), eq(true), notNull()))
+            .thenReturn(1);
         when(taskRepository.findById(task1.getId()))
             .thenReturn(Optional.of(task1));
-        when(taskRepository.save(any(Task.class)))
-            .thenReturn(task1);
 
         // Act
         Task result = taskService.updateTaskStatus(task1.getId(), true, user.getId());
@@ -207,22 +354,234 @@ class TaskServiceImplTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isCompleted());
-        verify(taskRepository).findById(task1.getId());
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).updateCompletedByIdAndUserId(eq(task1.getId()), eq(user.getId()), eq(true), notNull());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(new TaskCountsChangedEvent(user.getId(), 0, 1));
     }
 
     @Test
-    void deleteTask_WhenTaskExistsAndBelongsToUser_ShouldDeleteTask() {
+    void updateTaskStatus_WhenReopening_ShouldPublishTheDayTheCompletionWasMade() {
         // Arrange
+        Instant completedAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(taskRepository.reopenByIdAndUserId(task2.getId(), user.getId()))
+            .thenReturn(List.of(completedAt));
+        when(taskRepository.findById(task2.getId()))
+            .thenReturn(Optional.of(task2));
+
+        // Act
+        taskService.updateTaskStatus(task2.getId(), false, user.getId());
+
+        // Assert
+        verify(taskRepository, never()).findOwnersByIdIn(any());
+        verify(taskRepository, never()).updateCompletedByIdAndUserId(any(), any(), anyBoolean(), any());
+        verify(eventPublisher).publishEvent(new TaskCountsChangedEvent(user.getId(), 0, -1, List.of(completedAt)));
+    }
+
+    @Test
+    void updateTaskStatus_WhenStatusAlreadySet_ShouldNotPublishChange() {
+        // Arrange
+        task2.setCompleted(true);
+        when(taskRepository.updateCompletedByIdAndUserId(eq(task2.getId()), eq(user.getId()), eq(true), notNull()))
+            .thenReturn(0);
+        when(taskRepository.findById(task2.getId()))
+            .thenReturn(Optional.of(task2));
+
+        // Act
+        Task result = taskService.updateTaskStatus(task2.getId(), true, user.getId());
+
+        // Assert
+        assertTrue(result.isCompleted());
+        verifyNoInteractions(taskChangeLog, eventPublisher);
+    }
+
+    @Test
+    void updateTaskStatus_WhenTaskBelongsToDifferentUser_ShouldThrowException() {
+        // Arrange
+        when(taskRepository.updateCompletedByIdAndUserId(eq(task1.getId()), eq(2L), eq(true), notNull()))
+            .thenReturn(0);
         when(taskRepository.findById(task1.getId()))
             .thenReturn(Optional.of(task1));
-        doNothing().when(taskRepository).deleteById(task1.getId());
+
+        // Act & Assert
+        assertThrows(UnauthorizedTaskAccessException.class, () ->
+            taskService.updateTaskStatus(task1.getId(), true, 2L)
+        );
+    }
+
+    @Test
+    void deleteTask_WhenCompletedTaskBelongsToUser_ShouldDeleteItInOneStatement() {
+        // Arrange
+        Instant completedAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(taskRepository.deleteCompletedByIdAndUserId(task2.getId(), user.getId()))
+            .thenReturn(List.of(completedAt));
+
+        // Act
+        taskService.deleteTask(task2.getId(), user.getId());
+
+        // Assert
+        verify(taskRepository, never()).deleteOpenByIdAndUserId(any(), any());
+        verify(taskRepository, never()).findOwnersByIdIn(any());
+        verify(taskRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(new TaskCountsChangedEvent(user.getId(), -1, -1, List.of(completedAt)));
+    }
+
+    @Test
+    void deleteTask_WhenOpenTaskBelongsToUser_ShouldNotTakeACompletionBack() {
+        // Arrange
+        when(taskRepository.deleteCompletedByIdAndUserId(task1.getId(), user.getId()))
+            .thenReturn(List.of());
+        when(taskRepository.deleteOpenByIdAndUserId(task1.getId(), user.getId()))
+            .thenReturn(1);
 
         // Act
         taskService.deleteTask(task1.getId(), user.getId());
 
         // Assert
-        verify(taskRepository).findById(task1.getId());
-        verify(taskRepository).deleteById(task1.getId());
+        verify(taskRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(new TaskCountsChangedEvent(user.getId(), -1, 0));
+    }
+
+    @Test
+    void deleteTask_WhenTaskDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(taskRepository.deleteCompletedByIdAndUserId(99L, user.getId()))
+            .thenReturn(List.of());
+        when(taskRepository.deleteOpenByIdAndUserId(99L, user.getId()))
+            .thenReturn(0);
+        when(taskRepository.existsById(99L))
+            .thenReturn(false);
+
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class, () ->
+            taskService.deleteTask(99L, user.getId())
+        );
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createTasks_ShouldAssignUserAndSaveInOneCall() {
+        // Arrange
+        Task first = new Task();
+        first.setId(99L);
+        first.setTitle("First");
+        Task second = new Task();
+        second.setTitle("Second");
+        when(taskRepository.saveAll(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<TaskBatchResult> results = taskService.createTasks(List.of(first, second), user.getId());
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(TaskBatchResult.Status.CREATED, results.get(0).status());
+        assertNull(first.getId());
+        assertEquals(user.getId(), second.getUserId());
+        verify(taskRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void createTasks_WhenBatchIsTooLarge_ShouldThrowException() {
+        // Arrange
+        List<Task> tasks = Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1, new Task());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.createTasks(tasks, user.getId())
+        );
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldUpdateOnlyOwnedTasksAndReportTheRest() {
+        // Arrange
+        when(taskRepository.findOwnersByIdIn(Set.of(1L, 2L, 3L)))
+            .thenReturn(List.of(owner(1L, user.getId(), false), owner(2L, 2L, false)));
+        when(taskRepository.updateCompletedByUserIdAndIdIn(eq(user.getId()), eq(Set.of(1L)), eq(true), notNull()))
+            .thenReturn(1);
+
+        // Act
+        List<TaskBatchResult> results = taskService.updateTaskStatuses(List.of(1L, 2L, 3L, 1L), true, user.getId());
+
+        // Assert
+        assertEquals(List.of(
+            new TaskBatchResult(1L, TaskBatchResult.Status.UPDATED, null),
+            new TaskBatchResult(2L, TaskBatchResult.Status.FORBIDDEN, null),
+            new TaskBatchResult(3L, TaskBatchResult.Status.NOT_FOUND, null)), results);
+        verify(eventPublisher).publishEvent(new TaskCountsChangedEvent(user.getId(), 0, 1));
+    }
+
+    @Test
+    void deleteTasks_WhenNoTaskIsOwned_ShouldNotIssueDelete() {
+        // Arrange
+        when(taskRepository.findOwnersByIdIn(Set.of(5L)))
+            .thenReturn(List.of(owner(5L, 2L, false)));
+
+        // Act
+        List<TaskBatchResult> results = taskService.deleteTasks(List.of(5L), user.getId());
+
+        // Assert
+        assertEquals(TaskBatchResult.Status.FORBIDDEN, results.get(0).status());
+        verify(taskRepository, never()).deleteByUserIdAndIdIn(any(), any());
+    }
+
+    private static TaskRepository.TaskOwner owner(Long id, Long userId, boolean completed) {
+        return owner(id, userId, completed ? Instant.parse("2025-01-01T00:00:00Z") : null);
+    }
+
+    private static TaskRepository.TaskOwner owner(Long id, Long userId, Instant completedAt) {
+        return new TaskRepository.TaskOwner() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public boolean isCompleted() {
+                return completedAt != null;
+            }
+
+            @Override
+            public Instant getCompletedAt() {
+                return completedAt;
+            }
+        };
+    }
+
+    @Test
+    void updateTask_ShouldRecordChangeAndPublishEvent() {
+        // Arrange
+        when(taskRepository.findById(task1.getId()))
+            .thenReturn(Optional.of(task1));
+        when(taskRepository.save(any(Task.class)))
+            .thenReturn(task1);
+
+        // Act
+        taskService.updateTask(task1.getId(), task2, user.getId());
+
+        // Assert
+        verify(taskChangeLog).record(user.getId(), TaskChange.Type.UPDATED, List.of(task1.getId()));
+        verify(eventPublisher).publishEvent(
+            new TaskChangedEvent(user.getId(), TaskChange.Type.UPDATED, List.of(task1.getId()), List.of(task1)));
+    }
+
+    @Test
+    void searchTasks_ShouldReturnTasksInIndexRankOrder() {
+        // Arrange
+        when(taskSearchIndex.search(user.getId(), "task", TaskServiceImpl.DEFAULT_SEARCH_SIZE))
+            .thenReturn(List.of(new TaskSearchIndex.Hit(2L, 6), new TaskSearchIndex.Hit(1L, 3)));
+        when(taskRepository.findAllById(List.of(2L, 1L)))
+            .thenReturn(List.of(task1, task2));
+
+        // Act
+        List<Task> result = taskService.searchTasks("task", null, user.getId());
+
+        // Assert
+        assertEquals(List.of(task2, task1), result);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.service.TaskCountsChangedEvent;
+import com.example.taskmanager.service.TaskStatistics;
+import com.example.taskmanager.service.TaskStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskStatisticsTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TaskStatistics taskStatistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        taskStatistics = new TaskStatistics(taskRepository, registry, 100, 7);
+
+        User user = new User();
+        user.setUsername("statsuser");
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void getStats_ShouldCountInTheDatabaseAndBucketCompletionsByDay() {
+        // Arrange
+        Instant now = Instant.now();
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        save(userId, now);
+        save(userId, threeDaysAgo);
+        save(userId, now.minus(30, ChronoUnit.DAYS)); // Completed, But Outside The Window
+        save(userId, null);
+        save(userId + 1, now); // Someone Else's
+
+        // Act
+        TaskStats stats = taskStatistics.getStats(userId);
+
+        // Assert
+        assertEquals(4, stats.total());
+        assertEquals(3, stats.completed());
+        assertEquals(1, stats.open());
+        assertEquals(7, stats.completedPerDay().size());
+        assertEquals(new TaskStats.Day(day(now), 1), stats.completedPerDay().get(6));
+        assertEquals(new TaskStats.Day(day(threeDaysAgo), 1), stats.completedPerDay().get(3));
+        assertEquals(2, stats.completedPerDay().stream().mapToLong(TaskStats.Day::completed).sum());
+    }
+
+    @Test
+    void onCountsChanged_WhenLoaded_ShouldMoveCountersWithoutRecounting() {
+        // Arrange
+        save(userId, null);
+        taskStatistics.getStats(userId);
+        save(userId, null); // Written Behind The Counters' Back, So Only The Event Is Seen
+
+        // Act
+        commit(new TaskCountsChangedEvent(userId, 3, 2));
+        TaskStats stats = taskStatistics.getStats(userId);
+
+        // Assert
+        assertEquals(4, stats.total());
+        assertEquals(2, stats.completed());
+        assertEquals(2, stats.completedPerDay().get(6).completed());
+    }
+
+    @Test
+    void onCountsChanged_WhenCompletionTakenBack_ShouldDecrementItsDayWithoutRecounting() {
+        // Arrange
+        Instant now = Instant.now();
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        save(userId, now);
+        Task task = save(userId, threeDaysAgo);
+        taskStatistics.getStats(userId);
+        task.setCompleted(false);
+        task.setCompletedAt(null);
+        taskRepository.save(task);
+        save(userId, now); // No Event, Only A Recount Of The Days Would See It
+
+        // Act
+        commit(new TaskCountsChangedEvent(userId, 0, -1, List.of(threeDaysAgo)));
+        TaskStats stats = taskStatistics.getStats(userId);
+
+        // Assert
+        assertEquals(1, stats.completed());
+        assertEquals(new TaskStats.Day(day(threeDaysAgo), 0), stats.completedPerDay().get(3));
+        assertEquals(new TaskStats.Day(day(now), 1), stats.completedPerDay().get(6));
+    }
+
+    @Test
+    void getStats_WhenCountingBetweenAWritesCommitAndItsDelta_ShouldNotCountTheWriteTwice() {
+        // Arrange
+        List<TransactionSynchronization> before = TransactionSynchronizationManager.getSynchronizations();
+        taskStatistics.onCountsChanged(new TaskCountsChangedEvent(userId, 1, 1));
+        List<TransactionSynchronization> registered = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        registered.removeAll(before);
+        registered.forEach(synchronization -> synchronization.beforeCommit(false));
+        save(userId, Instant.now()); // The Write, Committed But Its Listener Not Run Yet
+
+        // Act
+        long duringCommit = taskStatistics.getStats(userId).total();
+        registered.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        long afterCommit = taskStatistics.getStats(userId).total();
+
+        // Assert
+        assertEquals(1, duringCommit);
+        assertEquals(1, afterCommit);
+    }
+
+    @Test
+    void reconcile_WhenCountersDrifted_ShouldCorrectThemFromTheDatabase() {
+        // Arrange
+        save(userId, null);
+        taskStatistics.getStats(userId);
+        save(userId, Instant.now()); // No Event, Counters Now Drift
+
+        // Act
+        long before = taskStatistics.getStats(userId).total();
+        taskStatistics.reconcile();
+        TaskStats after = taskStatistics.getStats(userId);
+
+        // Assert
+        assertEquals(1, before);
+        assertEquals(2, after.total());
+        assertEquals(1, after.completed());
+        assertEquals(1, after.completedPerDay().get(6).completed());
+        assertEquals(1.0, registry.get("task.stats.drift").counter().count());
+    }
+
+    // The test transaction never commits, so run the synchronization a real commit would
+    private void commit(TaskCountsChangedEvent event) {
+        List<TransactionSynchronization> before = TransactionSynchronizationManager.getSynchronizations();
+        taskStatistics.onCountsChanged(event);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (!before.contains(synchronization)) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        }
+    }
+
+    private Task save(Long ownerId, Instant completedAt) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setUserId(ownerId);
+        task.setCompleted(completedAt != null);
+        task.setCompletedAt(completedAt);
+        return taskRepository.save(task);
+    }
+
+    private static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
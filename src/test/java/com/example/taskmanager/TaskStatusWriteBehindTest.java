@@ -0,0 +1,223 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.service.TaskStatusWriteBehind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusWriteBehindTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path dir;
+
+    private MeterRegistry registry;
+    private TaskStatusWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        writeBehind = newWriteBehind(taskService);
+        lenient().when(taskService.getTaskById(anyLong(), eq(USER_ID))).thenAnswer(invocation -> task(invocation.getArgument(0)));
+    }
+
+    @Test
+    void updateTaskStatus_ShouldReturnTheToggledTaskWithoutTouchingTheDatabase() {
+        // Act
+        Task task = writeBehind.updateTaskStatus(1L, true, USER_ID);
+
+        // Assert
+        assertTrue(task.isCompleted());
+        assertEquals(NOW, task.getCompletedAt());
+        assertTrue(writeBehind.hasPending(USER_ID));
+        verify(taskService, never()).updateTaskStatuses(anyList(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    void flushAll_WhenTaskToggledRepeatedly_ShouldWriteOnlyItsLastStatus() {
+        // Arrange
+        writeBehind.updateTaskStatus(1L, true, USER_ID);
+        writeBehind.updateTaskStatus(2L, true, USER_ID);
+        writeBehind.updateTaskStatus(1L, false, USER_ID);
+
+        // Act
+        writeBehind.flushAll();
+
+        // Assert
+        verify(taskService).updateTaskStatuses(List.of(2L), true, USER_ID);
+        verify(taskService).updateTaskStatuses(List.of(1L), false, USER_ID);
+        verify(taskService, times(2)).updateTaskStatuses(anyList(), anyBoolean(), anyLong());
+        assertEquals(1.0, registry.get("task.status.coalesced").counter().count());
+        assertFalse(writeBehind.hasPending(USER_ID));
+    }
+
+    @Test
+    void newInstance_AfterCrashBeforeFlush_ShouldReplayAcknowledgedToggles() {
+        // Arrange
+        writeBehind.updateTaskStatus(1L, true, USER_ID);
+        writeBehind.updateTaskStatus(1L, false, USER_ID);
+        writeBehind.updateTaskStatus(3L, true, USER_ID);
+        TaskService restartedService = mock(TaskService.class);
+
+        // Act
+        TaskStatusWriteBehind restarted = newWriteBehind(restartedService);
+        restarted.flushAll();
+
+        // Assert
+        verify(restartedService).updateTaskStatuses(List.of(1L), false, USER_ID);
+        verify(restartedService).updateTaskStatuses(List.of(3L), true, USER_ID);
+        TaskService afterFlushService = mock(TaskService.class);
+        newWriteBehind(afterFlushService).flushAll(); // The Flush Emptied The Log
+        verifyNoInteractions(afterFlushService);
+    }
+
+    @Test
+    void flush_WhenDatabaseFails_ShouldKeepTogglesPendingForTheNextFlush() {
+        // Arrange
+        writeBehind.updateTaskStatus(1L, true, USER_ID);
+        when(taskService.updateTaskStatuses(List.of(1L), true, USER_ID))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of());
+
+        // Act
+        assertThrows(QueryTimeoutException.class, () -> writeBehind.flush(USER_ID));
+        boolean pendingAfterFailure = writeBehind.hasPending(USER_ID);
+        writeBehind.flushAll();
+
+        // Assert
+        assertTrue(pendingAfterFailure);
+        assertFalse(writeBehind.hasPending(USER_ID));
+        verify(taskService, times(2)).updateTaskStatuses(List.of(1L), true, USER_ID);
+    }
+
+    @Test
+    void flush_ShouldOnlyWriteTheGivenUsersToggles() {
+        // Arrange
+        when(taskService.getTaskById(2L, 8L)).thenReturn(task(2L));
+        writeBehind.updateTaskStatus(1L, true, USER_ID);
+        writeBehind.updateTaskStatus(2L, true, 8L);
+
+        // Act
+        writeBehind.flush(USER_ID);
+
+        // Assert
+        verify(taskService).updateTaskStatuses(List.of(1L), true, USER_ID);
+        verify(taskService, never()).updateTaskStatuses(anyList(), anyBoolean(), eq(8L));
+        assertTrue(writeBehind.hasPending(8L));
+    }
+
+    @Test
+    void flush_WhileAnotherUsersFlushIsStuck_ShouldNotWaitForIt() throws Exception {
+        // Arrange
+        when(taskService.getTaskById(2L, 8L)).thenReturn(task(2L));
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.updateTaskStatuses(List.of(2L), true, 8L)).thenAnswer(invocation -> {
+            stuck.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        writeBehind.updateTaskStatus(2L, true, 8L);
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        Future<?> slowFlush = background.submit(writeBehind::flushAll);
+        assertTrue(stuck.await(10, TimeUnit.SECONDS));
+        writeBehind.updateTaskStatus(1L, true, USER_ID);
+
+        // Act
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> writeBehind.flush(USER_ID));
+
+        // Assert
+        verify(taskService).updateTaskStatuses(List.of(1L), true, USER_ID);
+        assertFalse(writeBehind.hasPending(USER_ID));
+        assertTrue(writeBehind.hasPending(8L));
+        release.countDown();
+        slowFlush.get(10, TimeUnit.SECONDS);
+        background.shutdown();
+        assertFalse(writeBehind.hasPending(8L));
+    }
+
+    @Test
+    void close_WhileScheduledFlushIsRunning_ShouldLetItFinishUninterrupted() throws Exception {
+        // Arrange
+        TaskService slowService = mock(TaskService.class);
+        when(slowService.getTaskById(1L, USER_ID)).thenReturn(task(1L));
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(slowService.updateTaskStatuses(List.of(1L), true, USER_ID)).thenAnswer(invocation -> {
+            flushing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return List.of();
+        });
+        TaskStatusWriteBehind scheduled = new TaskStatusWriteBehind(slowService, transactionManager,
+            new SimpleMeterRegistry(), dir.resolve("scheduled.wal"), Duration.ofMillis(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        scheduled.updateTaskStatus(1L, true, USER_ID);
+        assertTrue(flushing.await(10, TimeUnit.SECONDS));
+
+        // Act
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        Future<?> closing = background.submit(scheduled::close);
+        Thread.sleep(100); // Lets close() Reach The Wait
+        release.countDown();
+        closing.get(10, TimeUnit.SECONDS);
+        background.shutdown();
+
+        // Assert
+        assertFalse(interrupted.get());
+        verify(slowService).updateTaskStatuses(List.of(1L), true, USER_ID); // Not Retried By The Final Flush
+    }
+
+    private TaskStatusWriteBehind newWriteBehind(TaskService service) {
+        MeterRegistry meters = service == taskService ? registry : new SimpleMeterRegistry();
+        return new TaskStatusWriteBehind(service, transactionManager, meters, dir.resolve("task-status.wal"),
+            Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)); // Tests Flush By Hand
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setUserId(USER_ID);
+        return task;
+    }
+}
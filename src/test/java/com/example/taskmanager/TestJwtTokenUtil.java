@@ -20,6 +20,15 @@ public class TestJwtTokenUtil {
         return doGenerateToken(claims, userDetails.getUsername());
     }
 
+    // No exp claim, which the filter treats as never expiring
+    public static String generateTokenWithoutExpiration(UserDetails userDetails) {
+        return Jwts.builder()
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .signWith(key)
+                .compact();
+    }
+
     private static String doGenerateToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -0,0 +1,241 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.exception.RevocationCapacityExceededException;
+import com.example.taskmanager.security.FileTokenRevocationStore;
+import com.example.taskmanager.security.InMemoryTokenRevocationStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+    private InMemoryTokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new InMemoryTokenRevocationStore(3, Duration.ofHours(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void revoke_ShouldRejectTokenUntilItExpires() {
+        // Act
+        store.revoke("jti-1", clock.instant().plusSeconds(60));
+
+        // Assert
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertFalse(store.isRevoked("jti-1"));
+    }
+
+    @Test
+    void revoke_WhenTokenAlreadyExpired_ShouldNotStoreIt() {
+        // Act
+        store.revoke("jti-1", clock.instant().minusSeconds(1));
+
+        // Assert
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void sweep_ShouldDropOnlyExpiredEntries() {
+        // Arrange
+        store.revoke("short", clock.instant().plusSeconds(10));
+        store.revoke("long", clock.instant().plusSeconds(600));
+        clock.advance(Duration.ofSeconds(11));
+
+        // Act
+        store.sweep();
+
+        // Assert
+        assertEquals(1, store.size());
+        assertTrue(store.isRevoked("long"));
+    }
+
+    @Test
+    void revoke_WhenFull_ShouldRefuseNewTokenAndKeepEveryEarlierRevocation() {
+        // Arrange
+        store.revoke("a", clock.instant().plusSeconds(300));
+        store.revoke("b", clock.instant().plusSeconds(100));
+        store.revoke("c", clock.instant().plusSeconds(200));
+
+        // Act
+        RevocationCapacityExceededException ex = assertThrows(RevocationCapacityExceededException.class,
+            () -> store.revoke("d", clock.instant().plusSeconds(400)));
+
+        // Assert
+        assertEquals(100, ex.getRetryAfterSeconds());
+        assertEquals(3, store.size());
+        assertTrue(store.isRevoked("a"));
+        assertTrue(store.isRevoked("b"));
+        assertTrue(store.isRevoked("c"));
+        assertFalse(store.isRevoked("d"));
+    }
+
+    @Test
+    void revoke_WhenFullOfExpiredEntries_ShouldSweepThemAndAccept() {
+        // Arrange
+        store.revoke("a", clock.instant().plusSeconds(10));
+        store.revoke("b", clock.instant().plusSeconds(10));
+        store.revoke("c", clock.instant().plusSeconds(200));
+        clock.advance(Duration.ofSeconds(11));
+
+        // Act
+        store.revoke("d", clock.instant().plusSeconds(400));
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.isRevoked("c"));
+        assertTrue(store.isRevoked("d"));
+    }
+
+    @Test
+    void fileStore_WhenFull_ShouldNotLogTheRefusedToken() {
+        // Arrange
+        Path log = tempDir.resolve("revoked-tokens.log");
+        FileTokenRevocationStore first = new FileTokenRevocationStore(log, 1, Duration.ofHours(1), clock);
+        first.revoke("jti-1", clock.instant().plusSeconds(60));
+        assertThrows(RevocationCapacityExceededException.class, () -> first.revoke("jti-2", clock.instant().plusSeconds(60)));
+        first.close();
+
+        // Act
+        FileTokenRevocationStore restarted = new FileTokenRevocationStore(log, 1, Duration.ofHours(1), clock);
+
+        // Assert
+        assertTrue(restarted.isRevoked("jti-1"));
+        assertFalse(restarted.isRevoked("jti-2"));
+        restarted.close();
+    }
+
+    @Test
+    void fileStore_ShouldKeepRevocationsAcrossRestart() {
+        // Arrange
+        Path log = tempDir.resolve("revoked-tokens.log");
+        FileTokenRevocationStore first = new FileTokenRevocationStore(log, 100, Duration.ofHours(1), clock);
+        first.revoke("jti-1", clock.instant().plusSeconds(60));
+        first.revoke("jti-2", clock.instant().plusSeconds(5));
+        first.close();
+        clock.advance(Duration.ofSeconds(10));
+
+        // Act
+        FileTokenRevocationStore restarted = new FileTokenRevocationStore(log, 100, Duration.ofHours(1), clock);
+
+        // Assert
+        assertTrue(restarted.isRevoked("jti-1"));
+        assertFalse(restarted.isRevoked("jti-2"));
+        assertEquals(1, restarted.size());
+        restarted.close();
+    }
+
+    @Test
+    void revoke_WhenConcurrentLogoutsRaceForTheLastSlots_ShouldNeverExceedMaxEntries() throws Exception {
+        // Arrange
+        InMemoryTokenRevocationStore bounded = new InMemoryTokenRevocationStore(50, Duration.ofHours(1), clock);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> logouts = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            String tokenId = "jti-" + i;
+            logouts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    bounded.revoke(tokenId, clock.instant().plusSeconds(60));
+                    accepted.incrementAndGet();
+                } catch (RevocationCapacityExceededException e) {
+                    // Expected Once The 50 Slots Are Gone
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> logout : logouts) {
+            logout.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(50, accepted.get());
+        assertEquals(50, bounded.size());
+        bounded.close();
+    }
+
+    @Test
+    void fileStore_WhenLogHoldsMoreThanMaxEntries_ShouldStartWithTheLatestExpiring() {
+        // Arrange
+        Path log = tempDir.resolve("revoked-tokens.log");
+        FileTokenRevocationStore first = new FileTokenRevocationStore(log, 100, Duration.ofHours(1), clock);
+        first.revoke("jti-soon", clock.instant().plusSeconds(30));
+        first.revoke("jti-later", clock.instant().plusSeconds(60));
+        first.revoke("jti-latest", clock.instant().plusSeconds(90));
+        first.close();
+
+        // Act
+        FileTokenRevocationStore restarted = new FileTokenRevocationStore(log, 2, Duration.ofHours(1), clock);
+
+        // Assert
+        assertEquals(2, restarted.size());
+        assertTrue(restarted.isRevoked("jti-latest"));
+        assertTrue(restarted.isRevoked("jti-later"));
+        assertFalse(restarted.isRevoked("jti-soon"));
+        restarted.close();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
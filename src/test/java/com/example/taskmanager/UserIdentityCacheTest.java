@@ -0,0 +1,109 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.UserIdentityCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityCache userIdentityCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityCache = new UserIdentityCache(userRepository, 100, Duration.ofMinutes(10));
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void resolveUserId_WhenCalledTwice_ShouldHitRepositoryOnce() {
+        // Arrange
+        when(userRepository.findByUsername("testuser"))
+            .thenReturn(Optional.of(user));
+
+        // Act
+        Optional<Long> first = userIdentityCache.resolveUserId("testuser");
+        Optional<Long> second = userIdentityCache.resolveUserId("testuser");
+
+        // Assert
+        assertEquals(Optional.of(1L), first);
+        assertEquals(Optional.of(1L), second);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void resolveUserId_WhenInvalidatedDuringLookup_ShouldNotCacheTheOldId() {
+        // Arrange
+        User renamed = new User();
+        renamed.setId(2L);
+        renamed.setUsername("testuser");
+        when(userRepository.findByUsername("testuser"))
+            .thenAnswer(invocation -> {
+                userIdentityCache.invalidate("testuser"); // The Username Changed Hands While We Were Reading
+                return Optional.of(user);
+            })
+            .thenReturn(Optional.of(renamed));
+
+        // Act
+        Optional<Long> during = userIdentityCache.resolveUserId("testuser");
+        Optional<Long> after = userIdentityCache.resolveUserId("testuser");
+
+        // Assert
+        assertEquals(Optional.of(1L), during);
+        assertEquals(Optional.of(2L), after);
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void resolveUserId_WhenUserDoesNotExist_ShouldNotCacheMiss() {
+        // Arrange
+        when(userRepository.findByUsername("ghost"))
+            .thenReturn(Optional.empty());
+
+        // Act
+        userIdentityCache.resolveUserId("ghost");
+        Optional<Long> result = userIdentityCache.resolveUserId("ghost");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void invalidate_ShouldForceFreshLookup() {
+        // Arrange
+        User recreated = new User();
+        recreated.setId(2L);
+        recreated.setUsername("testuser");
+        when(userRepository.findByUsername("testuser"))
+            .thenReturn(Optional.of(user))
+            .thenReturn(Optional.of(recreated));
+        userIdentityCache.resolveUserId("testuser");
+
+        // Act
+        userIdentityCache.invalidate("testuser");
+        Optional<Long> result = userIdentityCache.resolveUserId("testuser");
+
+        // Assert
+        assertEquals(Optional.of(2L), result);
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+}
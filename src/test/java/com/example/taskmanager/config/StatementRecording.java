@@ -0,0 +1,64 @@
+package com.example.taskmanager.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Captures the statements run on the calling thread between start() and close(), so an integration test can pin an
+// endpoint's query budget. MockMvc requests run on the test thread and are captured; work handed to other threads
+// (async imports, export streaming) is not. Fed by the StatementListener bean of StatementRecordingConfig, which
+// the test class has to @Import
+public final class StatementRecording implements AutoCloseable {
+
+    private static final ThreadLocal<StatementRecording> CURRENT = new ThreadLocal<>();
+
+    private final StatementRecording enclosing;
+    private final int[] counts = new int[StatementCounter.Type.values().length];
+    private final List<String> statements = new ArrayList<>();
+
+    private StatementRecording(StatementRecording enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    public static StatementRecording start() {
+        StatementRecording recording = new StatementRecording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void executed(StatementCounter.Type type, String sql) {
+        for (StatementRecording recording = CURRENT.get(); recording != null; recording = recording.enclosing) {
+            recording.counts[type.ordinal()]++;
+            recording.statements.add(sql);
+        }
+    }
+
+    public int total() {
+        return statements.size();
+    }
+
+    public int count(StatementCounter.Type type) {
+        return counts[type.ordinal()];
+    }
+
+    // In execution order; a batch appears once, with its first row's SQL
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (enclosing == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(enclosing);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return statements.size() + " statements:\n" + String.join("\n", statements);
+    }
+}
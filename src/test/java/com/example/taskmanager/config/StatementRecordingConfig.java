@@ -0,0 +1,14 @@
+package com.example.taskmanager.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// Registers StatementRecording with the app's StatementCounter; @Import it in tests that use StatementRecording
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementRecordingConfig {
+
+    @Bean
+    public StatementCounter.StatementListener statementRecordingListener() {
+        return StatementRecording::executed;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.taskmanager.config;
 
+import com.example.taskmanager.security.InMemoryTokenRevocationStore;
 import com.example.taskmanager.security.JwtFilter;
+import com.example.taskmanager.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,6 +12,10 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
 @TestConfiguration
 @EnableWebSecurity
 public class TestSecurityConfig {
@@ -16,8 +23,21 @@ public class TestSecurityConfig {
     private final String secretKey = "X7kP9mL2qW4vZ8jR5tY6uI3oP1nM8xQ2wE4rT9yU0sA6hJ3v";
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtFilter jwtFilter = new JwtFilter(secretKey);
+    public InMemoryTokenRevocationStore tokenRevocationStore() {
+        return new InMemoryTokenRevocationStore(1000, Duration.ofMinutes(1), Clock.systemUTC());
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache() {
+        return new VerifiedTokenCache(1000, Duration.ofMinutes(5));
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            InMemoryTokenRevocationStore revocationStore,
+            VerifiedTokenCache verifiedTokenCache) throws Exception {
+        JwtFilter jwtFilter = new JwtFilter(secretKey, revocationStore, verifiedTokenCache, new SimpleMeterRegistry(), Set.of());
 
         http
             .csrf(csrf -> csrf.disable())